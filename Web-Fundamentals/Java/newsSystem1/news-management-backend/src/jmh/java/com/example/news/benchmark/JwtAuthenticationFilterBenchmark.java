@@ -0,0 +1,51 @@
+package com.example.news.benchmark;
+
+import com.example.news.security.JwtAuthenticationFilter;
+import com.example.news.security.JwtService;
+import com.example.news.security.TokenDenylist;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtAuthenticationFilter 基准测试：一次受保护写请求在过滤器中的完整开销
+ * （读取请求头、验签、构建认证信息、写入 SecurityContext）。
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtAuthenticationFilterBenchmark {
+
+    private JwtAuthenticationFilter filter;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        JwtService jwtService = new JwtService(JwtServiceBenchmark.SECRET, 86400000L, 10000, meterRegistry);
+        // 无状态模式不会访问 UserDetailsService
+        filter = new JwtAuthenticationFilter(jwtService, null, new TokenDenylist(), true, meterRegistry);
+        authorization = "Bearer " + jwtService.generateToken(JwtServiceBenchmark.user("benchmark"));
+    }
+
+    @Benchmark
+    public MockHttpServletResponse authenticatedPut() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/api/news/1");
+        request.addHeader("Authorization", authorization);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, new MockFilterChain());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return response;
+    }
+}
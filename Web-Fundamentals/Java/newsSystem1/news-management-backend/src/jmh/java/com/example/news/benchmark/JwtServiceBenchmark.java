@@ -0,0 +1,77 @@
+package com.example.news.benchmark;
+
+import com.example.news.model.User;
+import com.example.news.security.JwtService;
+import com.example.news.security.Role;
+import com.example.news.security.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtService 验证路径基准测试。
+ * legacy* 方法复现旧实现（每次解码密钥、每次构建解析器、验证时解析两次），作为对照组。
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtServiceBenchmark {
+
+    static final String SECRET = "ThisIsAVeryStrongAndLongSecretKeyForYourNewsManagementSystemJWTToken";
+
+    private JwtService jwtService;
+    private JwtService uncachedJwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(SECRET, 86400000L, 10000, new SimpleMeterRegistry());
+        // 缓存大小为 0：每次都真正验签解析，用于衡量“只解析一次 + 复用解析器”本身的收益
+        uncachedJwtService = new JwtService(SECRET, 86400000L, 0, new SimpleMeterRegistry());
+        token = jwtService.generateToken(user("benchmark"));
+    }
+
+    @Benchmark
+    public boolean legacyValidate() {
+        // 旧实现：extractUsername 和 isTokenExpired 各自构建解析器、各自解码密钥
+        String username = legacyClaims(token).getSubject();
+        return username.equals("benchmark") && !legacyClaims(token).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public VerifiedToken uncachedParse() {
+        return uncachedJwtService.parseToken(token);
+    }
+
+    @Benchmark
+    public VerifiedToken cachedParse() {
+        return jwtService.parseToken(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user("benchmark"));
+    }
+
+    private static Claims legacyClaims(String token) {
+        Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+    }
+
+    static User user(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setRole(Role.USER);
+        return user;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.news.benchmark;
+
+import com.example.news.model.News;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 新闻列表在不同表示格式下的编码开销与体积：JSON / CBOR / Smile，以及是否再做 gzip。
+ * 对应 GET /api/news 的快照（摘要列表，不含正文）和 /api/news/export 的逐条导出（含正文）。
+ * 每组参数的响应体字节数在 Setup 时打印，与耗时结果一起比较。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NewsEncodingBenchmark {
+
+    @Param({ "JSON", "CBOR", "SMILE" })
+    private String format;
+
+    @Param({ "false", "true" })
+    private boolean gzip;
+
+    @Param({ "100", "1000" })
+    private int size;
+
+    // 正文长度（字符），0 表示列表场景（只有摘要）
+    @Param({ "0", "2000" })
+    private int contentLength;
+
+    private ObjectMapper mapper;
+    private List<News> news;
+
+    @Setup
+    public void setUp() throws Exception {
+        // 与 Spring Boot 默认配置一致：注册 JavaTimeModule，日期输出为 ISO 字符串
+        mapper = switch (format) {
+            case "CBOR" -> CBORMapper.builder().findAndAddModules()
+                    .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+            case "SMILE" -> SmileMapper.builder().findAndAddModules()
+                    .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+            default -> JsonMapper.builder().findAndAddModules()
+                    .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+        };
+
+        String seed = "新闻正文 content ";
+        String content = seed.repeat(2000 / seed.length() + 1);
+        LocalDateTime now = LocalDateTime.now();
+        news = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            News item = new News();
+            item.setId((long) i);
+            item.setTitle("Benchmark headline number " + i);
+            item.setContent(contentLength == 0 ? null : content.substring(0, contentLength));
+            item.setExcerpt(content.substring(0, News.EXCERPT_LENGTH));
+            item.setAuthor("author" + (i % 50));
+            item.setPublishDate(now.minusMinutes(i));
+            item.setUpdatedAt(now.minusMinutes(i));
+            item.setVersion(0L);
+            news.add(item);
+        }
+
+        System.out.printf("%n[payload] format=%s gzip=%s size=%d contentLength=%d bytes=%d%n",
+                format, gzip, size, contentLength, encode().length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws Exception {
+        byte[] body = mapper.writeValueAsBytes(news);
+        if (!gzip) {
+            return body;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream compressed = new GZIPOutputStream(out)) {
+            compressed.write(body);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.news.benchmark;
+
+import com.example.news.dto.NewsDTO;
+import com.example.news.dto.NewsSummary;
+import com.example.news.model.News;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 新闻列表 JSON 序列化基准测试，覆盖不同列表大小，
+ * 并对比完整实体 (News)、DTO (NewsDTO) 和摘要投影 (NewsSummary)。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NewsSerializationBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    private int size;
+
+    // 正文长度（字符）
+    @Param({ "2000" })
+    private int contentLength;
+
+    private ObjectMapper objectMapper;
+    private List<News> news;
+    private List<NewsDTO> newsDtos;
+    private List<NewsSummary> summaries;
+
+    @Setup
+    public void setUp() {
+        // 与 Spring Boot 默认配置一致：注册 JavaTimeModule，日期输出为 ISO 字符串
+        objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        String seed = "新闻正文 content ";
+        String content = seed.repeat(contentLength / seed.length() + 1).substring(0, contentLength);
+        LocalDateTime now = LocalDateTime.now();
+        news = new ArrayList<>(size);
+        newsDtos = new ArrayList<>(size);
+        summaries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            News item = new News();
+            item.setId((long) i);
+            item.setTitle("Benchmark headline number " + i);
+            item.setContent(content);
+            item.setExcerpt(content.substring(0, News.EXCERPT_LENGTH));
+            item.setAuthor("author" + (i % 50));
+            item.setPublishDate(now.minusMinutes(i));
+            item.setUpdatedAt(now.minusMinutes(i));
+            item.setVersion(0L);
+            news.add(item);
+
+            NewsDTO dto = new NewsDTO();
+            dto.setId(item.getId());
+            dto.setTitle(item.getTitle());
+            dto.setContent(item.getContent());
+            dto.setAuthor(item.getAuthor());
+            dto.setPublishDate(item.getPublishDate());
+            newsDtos.add(dto);
+
+            summaries.add(new NewsSummary(item.getId(), item.getTitle(), item.getAuthor(), item.getPublishDate(),
+                    item.getExcerpt()));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeNews() throws Exception {
+        return objectMapper.writeValueAsBytes(news);
+    }
+
+    @Benchmark
+    public byte[] serializeNewsDto() throws Exception {
+        return objectMapper.writeValueAsBytes(newsDtos);
+    }
+
+    @Benchmark
+    public byte[] serializeSummaries() throws Exception {
+        return objectMapper.writeValueAsBytes(summaries);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.news.benchmark;
+
+import com.example.news.config.SecurityConfig;
+import com.example.news.security.PasswordHashingExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BCrypt 成本基准测试：使用与 SecurityConfig.passwordEncoder() 完全相同的编码器，
+ * 调整 BCrypt 强度后可直接看到注册/登录的单次耗时变化。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordEncoderBenchmark {
+
+    private PasswordEncoder passwordEncoder;
+    private String encodedPassword;
+
+    @Setup
+    public void setUp() {
+        // passwordEncoder() 只用到哈希线程池（记录耗时），不依赖其它构造参数
+        PasswordHashingExecutor hashingExecutor = new PasswordHashingExecutor(1, 1, new SimpleMeterRegistry());
+        passwordEncoder = new SecurityConfig(null, null, null, hashingExecutor).passwordEncoder();
+        encodedPassword = passwordEncoder.encode("password");
+    }
+
+    @Benchmark
+    public String encode() {
+        return passwordEncoder.encode("password");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return passwordEncoder.matches("password", encodedPassword);
+    }
+}
@@ -0,0 +1,634 @@
+package com.example.news.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * LoadTest
+ * 闭环 HTTP 压测工具：固定数量的并发客户端循环发送请求，统计吞吐量、延迟分位数，
+ * 以及测量期间服务端的内存分配速率和 GC 停顿（来自 Actuator 指标）。
+ * 用于对比不同运行模式（例如平台线程与虚拟线程）或不同提交下同一场景的表现。
+ *
+ * <pre>
+ * # 压测已经启动的后端
+ * mvn -Ploadtest compile exec:exec -Dloadtest.args="--concurrency 400 --duration 60 --label virtual"
+ * # 自行启动打包好的后端（loadtest 配置文件：固定的种子数据、关闭登录限流），结束后停止，并与上一次结果对比
+ * mvn -DskipTests package
+ * mvn -Ploadtest compile exec:exec -Dloadtest.args="--app target/news-management-backend-0.0.1-SNAPSHOT.jar --users 1000 --mix read=60,list=15,page=10,write=5,login=10 --baseline target/loadtest-base.json"
+ * </pre>
+ *
+ * 参数：
+ * --url            后端地址，默认 http://localhost:8080
+ * --management-url Actuator 地址，用于读取分配速率和 GC 指标，默认 http://localhost:8081
+ * --app            后端 jar 路径；指定后由压测工具启动并在结束时停止，日志写入 target/loadtest-app.log
+ * --app-args       启动 jar 的应用参数，默认 --spring.profiles.active=loadtest
+ * --app-jvm-args   启动 jar 的 JVM 参数，例如 "-Xmx1g -XX:+UseG1GC"，默认无
+ * --startup-timeout 等待后端就绪（包括写入种子数据）的秒数，默认 600
+ * --concurrency    并发客户端数，默认 200
+ * --warmup         预热秒数（不计入结果），默认 5
+ * --duration       测量秒数，默认 30
+ * --mix            请求配比，默认 read=70,page=25,login=5。可用的请求类型：
+ *                  read（随机单篇）、hot（同一篇热点新闻）、list（首页列表）、page（分页）、
+ *                  write（以 --username 身份发布新闻）、login（登录）
+ * --max-id         read 请求随机访问的新闻 id 上限，默认 1000
+ * --hot-id         hot 请求访问的新闻 id，默认 1
+ * --users          大于 0 时 login 随机使用种子用户 loaduser1..N（密码 password），默认 0
+ * --username/--password 登录和 write 场景使用的账号，默认 admin/password
+ * --label          结果标签，例如 platform / virtual
+ * --commit         写入结果的提交标识，默认取 git rev-parse --short HEAD
+ * --out            JSON 结果文件，默认 target/loadtest-result.json
+ * --baseline       之前的 JSON 结果文件；指定后打印各请求类型吞吐量和延迟的变化
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseArgs(args);
+        String baseUrl = options.getOrDefault("url", "http://localhost:8080");
+        String managementUrl = options.getOrDefault("management-url", "http://localhost:8081");
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "200"));
+        int warmupSeconds = Integer.parseInt(options.getOrDefault("warmup", "5"));
+        int durationSeconds = Integer.parseInt(options.getOrDefault("duration", "30"));
+        String mix = options.getOrDefault("mix", "read=70,page=25,login=5");
+        String username = options.getOrDefault("username", "admin");
+        String password = options.getOrDefault("password", "password");
+        String label = options.getOrDefault("label", "default");
+        String commit = options.containsKey("commit") ? options.get("commit") : gitCommit();
+        String out = options.getOrDefault("out", "target/loadtest-result.json");
+
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(Math.max(4, concurrency / 8));
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(clientExecutor)
+                .build();
+
+        Process app = null;
+        try {
+            if (options.containsKey("app")) {
+                app = startApp(options.get("app"), options.getOrDefault("app-jvm-args", ""),
+                        options.getOrDefault("app-args", "--spring.profiles.active=loadtest"));
+                awaitReady(client, managementUrl, app,
+                        Integer.parseInt(options.getOrDefault("startup-timeout", "600")));
+            }
+            // write 请求需要令牌：压测开始前登录一次，所有客户端共用
+            String token = mix.contains("write") ? login(client, baseUrl, username, password) : null;
+            Scenario scenario = Scenario.parse(mix, new Target(baseUrl,
+                    Long.parseLong(options.getOrDefault("max-id", "1000")),
+                    Long.parseLong(options.getOrDefault("hot-id", "1")),
+                    Integer.parseInt(options.getOrDefault("users", "0")), username, password, token));
+
+            System.out.printf("Load test [%s @ %s]: %s, concurrency=%d, warmup=%ds, duration=%ds, mix=%s%n",
+                    label, commit, baseUrl, concurrency, warmupSeconds, durationSeconds, scenario);
+
+            run(client, scenario, concurrency, warmupSeconds, null);
+            Map<String, Recorder> results = new LinkedHashMap<>();
+            for (Operation op : scenario.operations) {
+                results.put(op.name, new Recorder());
+            }
+            ServerStats before = ServerStats.read(client, managementUrl);
+            long start = System.nanoTime();
+            run(client, scenario, concurrency, durationSeconds, results);
+            double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+            ServerStats after = ServerStats.read(client, managementUrl);
+
+            Map<String, Object> report = report(label, commit, baseUrl, scenario, concurrency, elapsedSeconds,
+                    results);
+            long requests = results.values().stream().mapToLong(r -> r.count).sum();
+            report.put("server", after.since(before, elapsedSeconds, requests));
+            printServer(after.since(before, elapsedSeconds, requests));
+
+            ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+            if (options.containsKey("baseline")) {
+                compare(mapper.readValue(new File(options.get("baseline")), Map.class), report);
+            }
+            File outFile = new File(out);
+            if (outFile.getParentFile() != null) {
+                outFile.getParentFile().mkdirs();
+            }
+            mapper.writeValue(outFile, report);
+            System.out.println("Result written to " + outFile.getPath());
+        } finally {
+            if (app != null) {
+                stopApp(app);
+            }
+            clientExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * 启动后端 jar，标准输出和错误写入 target/loadtest-app.log
+     */
+    private static Process startApp(String jar, String jvmArgs, String appArgs) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(split(jvmArgs));
+        command.add("-jar");
+        command.add(jar);
+        command.addAll(split(appArgs));
+        File log = new File("target/loadtest-app.log");
+        log.getParentFile().mkdirs();
+        System.out.println("Starting " + String.join(" ", command) + " (log: " + log.getPath() + ")");
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log)
+                .start();
+    }
+
+    /**
+     * 等待 readiness 探针返回 200：种子数据在 CommandLineRunner 中写入，写完之后才会就绪
+     */
+    private static void awaitReady(HttpClient client, String managementUrl, Process app, int timeoutSeconds)
+            throws InterruptedException {
+        HttpRequest probe = HttpRequest.newBuilder(URI.create(managementUrl + "/actuator/health/readiness"))
+                .timeout(Duration.ofSeconds(5)).GET().build();
+        long deadline = System.nanoTime() + timeoutSeconds * 1_000_000_000L;
+        while (System.nanoTime() < deadline) {
+            if (!app.isAlive()) {
+                throw new IllegalStateException("Backend exited with code " + app.exitValue()
+                        + ", see target/loadtest-app.log");
+            }
+            try {
+                if (client.send(probe, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    System.out.println("Backend is ready");
+                    return;
+                }
+            } catch (IOException e) {
+                // 还没有开始监听
+            }
+            Thread.sleep(1000);
+        }
+        throw new IllegalStateException("Backend not ready after " + timeoutSeconds + "s");
+    }
+
+    private static void stopApp(Process app) throws InterruptedException {
+        app.destroy();
+        if (!app.waitFor(30, TimeUnit.SECONDS)) {
+            app.destroyForcibly();
+        }
+    }
+
+    private static String login(HttpClient client, String baseUrl, String username, String password)
+            throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(Target.loginRequest(baseUrl, username, password),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login as " + username + " failed: HTTP " + response.statusCode()
+                    + " " + response.body());
+        }
+        return response.body().trim();
+    }
+
+    /**
+     * 当前提交，工作区有未提交修改时加上 -dirty；不在 git 仓库中时为 unknown
+     */
+    private static String gitCommit() {
+        try {
+            String head = exec("git", "rev-parse", "--short", "HEAD");
+            if (head.isEmpty()) {
+                return "unknown";
+            }
+            return exec("git", "status", "--porcelain", "--untracked-files=no").isEmpty() ? head : head + "-dirty";
+        } catch (IOException e) {
+            return "unknown";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "unknown";
+        }
+    }
+
+    private static String exec(String... command) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        String output = new String(process.getInputStream().readAllBytes()).trim();
+        return process.waitFor() == 0 ? output : "";
+    }
+
+    private static List<String> split(String args) {
+        List<String> parts = new ArrayList<>();
+        for (String part : args.trim().split("\\s+")) {
+            if (!part.isEmpty()) {
+                parts.add(part);
+            }
+        }
+        return parts;
+    }
+
+    /**
+     * 运行一段时间的闭环压测；recorders 为 null 时只预热不记录
+     */
+    private static void run(HttpClient client, Scenario scenario, int concurrency, int seconds,
+            Map<String, Recorder> recorders) throws InterruptedException {
+        if (seconds <= 0) {
+            return;
+        }
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        CountDownLatch done = new CountDownLatch(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            Thread worker = new Thread(() -> {
+                // 每个客户端先在本地记录，结束时再合并，避免记录本身产生竞争
+                Map<String, Recorder> local = new HashMap<>();
+                try {
+                    while (System.nanoTime() < deadline) {
+                        Operation op = scenario.pick();
+                        long begin = System.nanoTime();
+                        int status;
+                        try {
+                            status = client.send(op.request(), HttpResponse.BodyHandlers.discarding()).statusCode();
+                        } catch (Exception e) {
+                            status = -1;
+                        }
+                        if (recorders != null) {
+                            local.computeIfAbsent(op.name, k -> new Recorder()).record(System.nanoTime() - begin, status);
+                        }
+                    }
+                } finally {
+                    if (recorders != null) {
+                        local.forEach((name, recorder) -> recorders.get(name).merge(recorder));
+                    }
+                    done.countDown();
+                }
+            }, "loadtest-" + i);
+            worker.start();
+        }
+        done.await();
+    }
+
+    private static Map<String, Object> report(String label, String commit, String baseUrl, Scenario scenario,
+            int concurrency, double elapsedSeconds, Map<String, Recorder> results) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("label", label);
+        report.put("commit", commit);
+        report.put("url", baseUrl);
+        report.put("timestamp", Instant.now().toString());
+        report.put("javaVersion", System.getProperty("java.version"));
+        report.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        report.put("mix", scenario.toString());
+        report.put("concurrency", concurrency);
+        report.put("elapsedSeconds", elapsedSeconds);
+
+        Recorder total = new Recorder();
+        Map<String, Object> operations = new LinkedHashMap<>();
+        System.out.printf("%-8s %10s %10s %9s %9s %9s %9s %8s%n",
+                "op", "requests", "req/s", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)", "errors");
+        for (Map.Entry<String, Recorder> entry : results.entrySet()) {
+            Map<String, Object> summary = entry.getValue().summarize(elapsedSeconds);
+            operations.put(entry.getKey(), summary);
+            print(entry.getKey(), summary);
+            total.merge(entry.getValue());
+        }
+        Map<String, Object> totalSummary = total.summarize(elapsedSeconds);
+        print("total", totalSummary);
+        report.put("operations", operations);
+        report.put("total", totalSummary);
+        return report;
+    }
+
+    private static void print(String name, Map<String, Object> summary) {
+        System.out.printf("%-8s %10d %10.1f %9.2f %9.2f %9.2f %9.2f %8d%n", name,
+                summary.get("requests"), summary.get("throughput"), summary.get("p50Ms"), summary.get("p99Ms"),
+                summary.get("p999Ms"), summary.get("maxMs"), summary.get("errors"));
+    }
+
+    private static void printServer(Map<String, Object> server) {
+        if (server.isEmpty()) {
+            System.out.println("server   (metrics unavailable)");
+            return;
+        }
+        System.out.printf("server   alloc %.1f MB/s, %.1f KB/request, GC pause %.1f ms in %d collections%n",
+                server.get("allocationRateMBps"), server.get("allocatedKBPerRequest"), server.get("gcPauseMs"),
+                server.get("gcCount"));
+    }
+
+    /**
+     * 与之前的结果逐项对比：吞吐量、p99 和每请求分配量的相对变化
+     */
+    @SuppressWarnings("unchecked")
+    private static void compare(Map<String, Object> baseline, Map<String, Object> report) {
+        System.out.printf("Compared with [%s @ %s]:%n", baseline.get("label"), baseline.get("commit"));
+        if (!String.valueOf(baseline.get("mix")).equals(report.get("mix"))
+                || !String.valueOf(baseline.get("concurrency")).equals(String.valueOf(report.get("concurrency")))) {
+            System.out.println("  warning: baseline used a different mix or concurrency");
+        }
+        Map<String, Object> baseOps = (Map<String, Object>) baseline.getOrDefault("operations", Map.of());
+        Map<String, Object> ops = new LinkedHashMap<>((Map<String, Object>) report.get("operations"));
+        ops.put("total", report.get("total"));
+        Map<String, Object> baseAll = new LinkedHashMap<>(baseOps);
+        baseAll.put("total", baseline.get("total"));
+        System.out.printf("%-8s %12s %12s %12s%n", "op", "req/s", "p99", "p999");
+        for (Map.Entry<String, Object> entry : ops.entrySet()) {
+            Map<String, Object> base = (Map<String, Object>) baseAll.get(entry.getKey());
+            if (base == null) {
+                continue;
+            }
+            Map<String, Object> current = (Map<String, Object>) entry.getValue();
+            System.out.printf("%-8s %12s %12s %12s%n", entry.getKey(), change(base, current, "throughput"),
+                    change(base, current, "p99Ms"), change(base, current, "p999Ms"));
+        }
+        Map<String, Object> baseServer = (Map<String, Object>) baseline.get("server");
+        Map<String, Object> server = (Map<String, Object>) report.get("server");
+        if (baseServer != null && baseServer.containsKey("allocatedKBPerRequest")
+                && server.containsKey("allocatedKBPerRequest")) {
+            System.out.printf("%-8s %12s KB/request allocated%n", "server",
+                    change(baseServer, server, "allocatedKBPerRequest"));
+        }
+    }
+
+    private static String change(Map<String, Object> base, Map<String, Object> current, String key) {
+        double before = ((Number) base.get(key)).doubleValue();
+        double now = ((Number) current.get(key)).doubleValue();
+        return before == 0 ? "n/a" : String.format("%+.1f%%", (now - before) * 100 / before);
+    }
+
+    private static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+
+    /**
+     * 一种请求类型及其权重
+     */
+    static final class Operation {
+        final String name;
+        final int weight;
+        private final Supplier<HttpRequest> factory;
+
+        Operation(String name, int weight, Supplier<HttpRequest> factory) {
+            this.name = name;
+            this.weight = weight;
+            this.factory = factory;
+        }
+
+        HttpRequest request() {
+            return factory.get();
+        }
+    }
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    /**
+     * 被压测的后端以及各请求类型的参数
+     */
+    static final class Target {
+        final String baseUrl;
+        final long maxId;
+        final long hotId;
+        final int users;
+        final String username;
+        final String password;
+        final String token;
+
+        Target(String baseUrl, long maxId, long hotId, int users, String username, String password, String token) {
+            this.baseUrl = baseUrl;
+            this.maxId = maxId;
+            this.hotId = hotId;
+            this.users = users;
+            this.username = username;
+            this.password = password;
+            this.token = token;
+        }
+
+        static HttpRequest loginRequest(String baseUrl, String username, String password) {
+            String body = "{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}";
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                    .timeout(TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body)).build();
+        }
+    }
+
+    /**
+     * 按权重随机选择请求类型的场景
+     */
+    static final class Scenario {
+        final List<Operation> operations = new ArrayList<>();
+        private int totalWeight;
+
+        static Scenario parse(String mix, Target target) {
+            Scenario scenario = new Scenario();
+            for (String part : mix.split(",")) {
+                String[] kv = part.trim().split("=");
+                int weight = Integer.parseInt(kv[1]);
+                if (weight <= 0) {
+                    continue;
+                }
+                scenario.add(new Operation(kv[0], weight, factory(kv[0], target)));
+            }
+            if (scenario.operations.isEmpty()) {
+                throw new IllegalArgumentException("Empty mix: " + mix);
+            }
+            return scenario;
+        }
+
+        private static Supplier<HttpRequest> factory(String name, Target target) {
+            String baseUrl = target.baseUrl;
+            switch (name) {
+                case "read":
+                    return () -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/news/"
+                                    + ThreadLocalRandom.current().nextLong(1, target.maxId + 1)))
+                            .timeout(TIMEOUT).GET().build();
+                case "hot":
+                    return () -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/news/" + target.hotId))
+                            .timeout(TIMEOUT).GET().build();
+                case "list":
+                    return () -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/news"))
+                            .timeout(TIMEOUT)
+                            .header("Accept-Encoding", "gzip")
+                            .GET().build();
+                case "page":
+                    return () -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/news/page?size=20"))
+                            .timeout(TIMEOUT).GET().build();
+                case "write":
+                    String content = "Load test article body. ".repeat(40);
+                    return () -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/news"))
+                            .timeout(TIMEOUT)
+                            .header("Content-Type", "application/json")
+                            .header("Authorization", "Bearer " + target.token)
+                            .POST(HttpRequest.BodyPublishers.ofString("{\"title\":\"Load test "
+                                    + ThreadLocalRandom.current().nextInt(1_000_000) + "\",\"content\":\""
+                                    + content + "\"}"))
+                            .build();
+                case "login":
+                    if (target.users > 0) {
+                        return () -> Target.loginRequest(baseUrl,
+                                "loaduser" + ThreadLocalRandom.current().nextInt(1, target.users + 1), "password");
+                    }
+                    return () -> Target.loginRequest(baseUrl, target.username, target.password);
+                default:
+                    throw new IllegalArgumentException("Unknown operation: " + name);
+            }
+        }
+
+        void add(Operation operation) {
+            operations.add(operation);
+            totalWeight += operation.weight;
+        }
+
+        Operation pick() {
+            int r = ThreadLocalRandom.current().nextInt(totalWeight);
+            for (Operation op : operations) {
+                r -= op.weight;
+                if (r < 0) {
+                    return op;
+                }
+            }
+            return operations.get(operations.size() - 1);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            for (Operation op : operations) {
+                sb.append(sb.length() == 0 ? "" : ",").append(op.name).append('=').append(op.weight);
+            }
+            return sb.toString();
+        }
+    }
+
+    /**
+     * 服务端累计指标的一次读数（Actuator /actuator/metrics），两次读数之差即测量期间的分配量和 GC 停顿
+     */
+    static final class ServerStats {
+        private static final ObjectMapper MAPPER = new ObjectMapper();
+
+        final double allocatedBytes;
+        final double gcPauseSeconds;
+        final double gcCount;
+
+        private ServerStats(double allocatedBytes, double gcPauseSeconds, double gcCount) {
+            this.allocatedBytes = allocatedBytes;
+            this.gcPauseSeconds = gcPauseSeconds;
+            this.gcCount = gcCount;
+        }
+
+        static ServerStats read(HttpClient client, String managementUrl) {
+            return new ServerStats(metric(client, managementUrl, "jvm.gc.memory.allocated", "COUNT"),
+                    metric(client, managementUrl, "jvm.gc.pause", "TOTAL_TIME"),
+                    metric(client, managementUrl, "jvm.gc.pause", "COUNT"));
+        }
+
+        /**
+         * 与更早的读数相减；任一指标读取失败时返回空表
+         */
+        Map<String, Object> since(ServerStats before, double elapsedSeconds, long requests) {
+            Map<String, Object> server = new LinkedHashMap<>();
+            if (Double.isNaN(allocatedBytes) || Double.isNaN(before.allocatedBytes)) {
+                return server;
+            }
+            double allocated = allocatedBytes - before.allocatedBytes;
+            server.put("allocatedBytes", (long) allocated);
+            server.put("allocationRateMBps", allocated / elapsedSeconds / (1024 * 1024));
+            server.put("allocatedKBPerRequest", requests == 0 ? 0.0 : allocated / requests / 1024);
+            // 还没有发生过 GC 时 jvm.gc.pause 不存在
+            server.put("gcPauseMs", Double.isNaN(gcPauseSeconds) ? 0.0
+                    : (gcPauseSeconds - zeroIfMissing(before.gcPauseSeconds)) * 1000);
+            server.put("gcCount", Double.isNaN(gcCount) ? 0L : (long) (gcCount - zeroIfMissing(before.gcCount)));
+            return server;
+        }
+
+        private static double zeroIfMissing(double value) {
+            return Double.isNaN(value) ? 0 : value;
+        }
+
+        private static double metric(HttpClient client, String managementUrl, String name, String statistic) {
+            try {
+                HttpResponse<String> response = client.send(
+                        HttpRequest.newBuilder(URI.create(managementUrl + "/actuator/metrics/" + name))
+                                .timeout(Duration.ofSeconds(5)).GET().build(),
+                        HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() != 200) {
+                    return Double.NaN;
+                }
+                for (JsonNode measurement : MAPPER.readTree(response.body()).path("measurements")) {
+                    if (statistic.equals(measurement.path("statistic").asText())) {
+                        return measurement.path("value").asDouble();
+                    }
+                }
+                return Double.NaN;
+            } catch (IOException e) {
+                return Double.NaN;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Double.NaN;
+            }
+        }
+    }
+
+    /**
+     * 延迟记录器：保存全部样本（纳秒），结束时排序计算分位数
+     */
+    static final class Recorder {
+        private long[] samples = new long[1024];
+        private int count;
+        private long errors;
+
+        void record(long nanos, int status) {
+            if (count == samples.length) {
+                samples = Arrays.copyOf(samples, count * 2);
+            }
+            samples[count++] = nanos;
+            // 网络错误或 5xx 计为失败；404/401/304 等是业务上的正常响应
+            if (status < 0 || status >= 500) {
+                errors++;
+            }
+        }
+
+        synchronized void merge(Recorder other) {
+            if (count + other.count > samples.length) {
+                samples = Arrays.copyOf(samples, Math.max(samples.length * 2, count + other.count));
+            }
+            System.arraycopy(other.samples, 0, samples, count, other.count);
+            count += other.count;
+            errors += other.errors;
+        }
+
+        Map<String, Object> summarize(double elapsedSeconds) {
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("requests", (long) count);
+            summary.put("errors", errors);
+            summary.put("throughput", count / elapsedSeconds);
+            summary.put("p50Ms", percentile(sorted, 0.50));
+            summary.put("p99Ms", percentile(sorted, 0.99));
+            summary.put("p999Ms", percentile(sorted, 0.999));
+            summary.put("maxMs", sorted.length == 0 ? 0.0 : sorted[sorted.length - 1] / 1e6);
+            return summary;
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0.0;
+            }
+            int index = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.news.cache;
+
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.util.concurrent.Callable;
+
+/**
+ * 两级缓存：L1 为本进程内的 Caffeine，L2 为各实例共享的 Redis。
+ * <p>
+ * 读取先查 L1，未命中再查 L2 并回填 L1；写入和失效同时作用于两级，
+ * 并通过 Redis 发布/订阅通知其它实例丢弃各自 L1 中的旧值。
+ * <p>
+ * get(key, loader)（即 @Cacheable(sync = true)）对同一个 key 只加载一次：
+ * 本进程内由 Caffeine 的按 key 计算保证，多个实例之间由 L2 上的短期租约保证，
+ * 没拿到租约的实例等待持有者把结果写入 L2。
+ * <p>
+ * Redis 不可用时只记录错误，并在 app.cache.l2.retry-after 内跳过 L2，缓存退化为单机 L1，不影响请求。
+ */
+public class TwoLevelCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> l1;
+    private final TwoLevelCacheManager manager;
+
+    TwoLevelCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> l1,
+            TwoLevelCacheManager manager) {
+        // 与 CaffeineCacheManager 默认行为一致：允许缓存 null（“不存在”也是有效的结果）
+        super(true);
+        this.name = name;
+        this.l1 = l1;
+        this.manager = manager;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * L1 的 Caffeine 缓存，用于统计命中率
+     */
+    @Override
+    public com.github.benmanes.caffeine.cache.Cache<Object, Object> getNativeCache() {
+        return l1;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        String cacheKey = toCacheKey(key);
+        Object value = l1.getIfPresent(cacheKey);
+        if (value != null) {
+            return value;
+        }
+        value = manager.readL2(name, cacheKey);
+        if (value != null) {
+            l1.put(cacheKey, value);
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object value = l1.get(toCacheKey(key), cacheKey -> manager.loadThrough(name, (String) cacheKey,
+                () -> toStoreValue(call(key, valueLoader))));
+        return (T) fromStoreValue(value);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        String cacheKey = toCacheKey(key);
+        Object storeValue = toStoreValue(value);
+        manager.writeL2(name, cacheKey, storeValue);
+        l1.put(cacheKey, storeValue);
+        manager.publishEvict(name, cacheKey);
+    }
+
+    @Override
+    public void evict(Object key) {
+        String cacheKey = toCacheKey(key);
+        // 先删 L2 再通知，其它实例重新加载时不会读回旧值
+        manager.deleteL2(name, cacheKey);
+        l1.invalidate(cacheKey);
+        manager.publishEvict(name, cacheKey);
+    }
+
+    @Override
+    public void clear() {
+        manager.clearL2(name);
+        l1.invalidateAll();
+        manager.publishEvict(name, null);
+    }
+
+    /**
+     * 收到其它实例的失效通知：只清理本地 L1
+     */
+    void evictLocal(String cacheKey) {
+        if (cacheKey == null) {
+            l1.invalidateAll();
+        } else {
+            l1.invalidate(cacheKey);
+        }
+    }
+
+    /**
+     * 两级使用同一个字符串形式的 key，失效通知可以直接按 key 清理其它实例的 L1
+     */
+    private static String toCacheKey(Object key) {
+        return String.valueOf(key);
+    }
+
+    private static <T> T call(Object key, Callable<T> valueLoader) {
+        try {
+            return valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+}
@@ -0,0 +1,395 @@
+package com.example.news.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * TwoLevelCache 的管理器：持有各缓存的 L1，负责 L2 的读写、序列化、加载租约和失效广播。
+ * <p>
+ * L2 的 key 为 {keyPrefix}{cacheName}::{key}，值为 "类名\nJSON"，只允许反序列化本项目的类型和 byte[]。
+ * 失效消息为 "实例 id\n缓存名[\nkey]"，没有 key 表示清空整个缓存；实例忽略自己发出的消息。
+ * Redis 的发布/订阅不保证送达（例如断线期间的消息会丢失），因此 L1 的过期时间单独设得较短。
+ * <p>
+ * localOnly 中的缓存只有进程内的 Caffeine，不写入 Redis，也不广播失效（例如含密码哈希的用户缓存）。
+ */
+public class TwoLevelCacheManager implements CacheManager, MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(TwoLevelCacheManager.class);
+
+    // 只允许从 L2 反序列化这些类型，避免共享缓存被写入任意类名
+    private static final String ALLOWED_PACKAGE = "com.example.news.";
+    private static final String NULL_MARKER = "null";
+
+    // 等待其它实例加载时轮询 L2 的间隔
+    private static final long LEASE_POLL_MILLIS = 20;
+
+    private final Map<String, TwoLevelCache> caches = new LinkedHashMap<>();
+    private final Map<String, Cache> localCaches = new LinkedHashMap<>();
+    private final Map<String, Duration> ttls = new LinkedHashMap<>();
+    private final StringRedisTemplate redis;
+    private final ObjectMapper objectMapper;
+    private final String keyPrefix;
+    private final String channel;
+    private final Duration loadLease;
+    private final long retryAfterNanos;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Counter l2Hits;
+    private final Counter l2Misses;
+    private final Counter l2Errors;
+    private final Counter invalidationsSent;
+    private final Counter invalidationsReceived;
+    private final Counter leaseWaits;
+    // 最近一次 Redis 操作失败后，在这个时间点之前跳过 L2，避免每个请求都等待超时
+    // 收到其它实例的失效通知后，额外清理本进程内的其它缓存（例如 Hibernate 二级缓存）
+    private volatile BiConsumer<String, String> remoteEvictionListener = (cacheName, key) -> {
+    };
+
+    private volatile long l2SkipUntil = System.nanoTime();
+    private final AtomicBoolean recoveryPending = new AtomicBoolean();
+
+    /**
+     * @param l1Specs   每个缓存的 L1 构造器（大小、过期时间）
+     * @param l2Ttls    每个缓存在 L2 中的存活时间
+     * @param localOnly 只使用 L1 的缓存名
+     * @param loadLease 加载租约的时长，也是没拿到租约的实例最多等待的时间
+     * @param retryAfter Redis 操作失败后暂停使用 L2 的时长
+     */
+    public TwoLevelCacheManager(Map<String, Caffeine<Object, Object>> l1Specs, Map<String, Duration> l2Ttls,
+            Set<String> localOnly, StringRedisTemplate redis, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            String keyPrefix, String channel, Duration loadLease, Duration retryAfter) {
+        this.redis = redis;
+        this.objectMapper = objectMapper;
+        this.keyPrefix = keyPrefix;
+        this.channel = channel;
+        this.loadLease = loadLease;
+        this.retryAfterNanos = retryAfter.toNanos();
+        for (Map.Entry<String, Caffeine<Object, Object>> entry : l1Specs.entrySet()) {
+            String name = entry.getKey();
+            if (localOnly.contains(name)) {
+                localCaches.put(name, new CaffeineCache(name, entry.getValue().build()));
+                continue;
+            }
+            caches.put(name, new TwoLevelCache(name, entry.getValue().build(), this));
+            ttls.put(name, l2Ttls.get(name));
+        }
+        this.l2Hits = counter(meterRegistry, "news.cache.l2.requests", "result", "hit");
+        this.l2Misses = counter(meterRegistry, "news.cache.l2.requests", "result", "miss");
+        this.l2Errors = counter(meterRegistry, "news.cache.l2.requests", "result", "error");
+        this.invalidationsSent = counter(meterRegistry, "news.cache.invalidations", "direction", "sent");
+        this.invalidationsReceived = counter(meterRegistry, "news.cache.invalidations", "direction", "received");
+        this.leaseWaits = counter(meterRegistry, "news.cache.lease.waits");
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = caches.get(name);
+        return cache != null ? cache : localCaches.get(name);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        List<String> names = new ArrayList<>(caches.keySet());
+        names.addAll(localCaches.keySet());
+        return Collections.unmodifiableList(names);
+    }
+
+    // --- L2 ---
+
+    Object readL2(String cacheName, String key) {
+        if (l2Skipped()) {
+            return null;
+        }
+        try {
+            String payload = redis.opsForValue().get(l2Key(cacheName, key));
+            if (payload == null) {
+                l2Misses.increment();
+                return null;
+            }
+            l2Hits.increment();
+            return decode(payload);
+        } catch (RuntimeException e) {
+            l2Failed("read", e);
+            return null;
+        }
+    }
+
+    void writeL2(String cacheName, String key, Object storeValue) {
+        if (l2Skipped()) {
+            return;
+        }
+        try {
+            redis.opsForValue().set(l2Key(cacheName, key), encode(storeValue), ttls.get(cacheName));
+        } catch (RuntimeException e) {
+            l2Failed("write", e);
+        }
+    }
+
+    void deleteL2(String cacheName, String key) {
+        if (l2Skipped()) {
+            return;
+        }
+        try {
+            redis.delete(l2Key(cacheName, key));
+        } catch (RuntimeException e) {
+            l2Failed("delete", e);
+        }
+    }
+
+    void clearL2(String cacheName) {
+        if (l2Skipped()) {
+            return;
+        }
+        try {
+            unlinkAll(cacheName);
+        } catch (RuntimeException e) {
+            l2Failed("clear", e);
+        }
+    }
+
+    private void unlinkAll(String cacheName) {
+        ScanOptions options = ScanOptions.scanOptions().match(keyPrefix + cacheName + "::*").count(500).build();
+        redis.execute((RedisCallback<Void>) connection -> {
+            List<byte[]> batch = new ArrayList<>();
+            try (Cursor<byte[]> cursor = connection.keyCommands().scan(options)) {
+                while (cursor.hasNext()) {
+                    batch.add(cursor.next());
+                    if (batch.size() == 500) {
+                        connection.keyCommands().unlink(batch.toArray(new byte[0][]));
+                        batch.clear();
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                connection.keyCommands().unlink(batch.toArray(new byte[0][]));
+            }
+            return null;
+        });
+    }
+
+    /**
+     * L1 未命中时的加载：先查 L2；仍未命中则尝试获得加载租约，拿到的实例调用 loader 并写入 L2，
+     * 其它实例在租约时长内轮询 L2，超时后自行加载（持有者可能已经宕机）。
+     */
+    Object loadThrough(String cacheName, String key, Supplier<Object> loader) {
+        Object value = readL2(cacheName, key);
+        if (value != null) {
+            return value;
+        }
+        String leaseKey = keyPrefix + "lease:" + cacheName + "::" + key;
+        boolean leased = tryLease(leaseKey);
+        if (!leased) {
+            leaseWaits.increment();
+            long deadline = System.nanoTime() + loadLease.toNanos();
+            while (System.nanoTime() < deadline) {
+                try {
+                    Thread.sleep(LEASE_POLL_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                value = readL2(cacheName, key);
+                if (value != null) {
+                    return value;
+                }
+            }
+        }
+        try {
+            value = loader.get();
+            writeL2(cacheName, key, value);
+            return value;
+        } finally {
+            if (leased) {
+                deleteL2Key(leaseKey);
+            }
+        }
+    }
+
+    private boolean tryLease(String leaseKey) {
+        if (l2Skipped()) {
+            return true;
+        }
+        try {
+            return Boolean.TRUE.equals(redis.opsForValue().setIfAbsent(leaseKey, nodeId, loadLease));
+        } catch (RuntimeException e) {
+            // Redis 不可用：不等待，直接在本实例加载
+            l2Failed("lease", e);
+            return true;
+        }
+    }
+
+    private void deleteL2Key(String key) {
+        if (l2Skipped()) {
+            return;
+        }
+        try {
+            redis.delete(key);
+        } catch (RuntimeException e) {
+            l2Failed("delete", e);
+        }
+    }
+
+    private String l2Key(String cacheName, String key) {
+        return keyPrefix + cacheName + "::" + key;
+    }
+
+    private String encode(Object storeValue) {
+        if (storeValue == NullValue.INSTANCE) {
+            return NULL_MARKER;
+        }
+        try {
+            return storeValue.getClass().getName() + "\n" + objectMapper.writeValueAsString(storeValue);
+        } catch (Exception e) {
+            throw new IllegalStateException("Cannot serialize cache value " + storeValue.getClass().getName(), e);
+        }
+    }
+
+    private Object decode(String payload) {
+        if (NULL_MARKER.equals(payload)) {
+            return NullValue.INSTANCE;
+        }
+        int newline = payload.indexOf('\n');
+        String className = newline < 0 ? "" : payload.substring(0, newline);
+        Class<?> type;
+        if (className.equals(byte[].class.getName())) {
+            type = byte[].class;
+        } else if (className.startsWith(ALLOWED_PACKAGE)) {
+            try {
+                type = Class.forName(className, false, getClass().getClassLoader());
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException("Unknown cache value type " + className, e);
+            }
+        } else {
+            throw new IllegalStateException("Cache value type not allowed: " + className);
+        }
+        try {
+            return objectMapper.readValue(payload.substring(newline + 1), type);
+        } catch (Exception e) {
+            throw new IllegalStateException("Cannot deserialize cache value " + className, e);
+        }
+    }
+
+    // --- 失效广播 ---
+
+    void publishEvict(String cacheName, String key) {
+        if (l2Skipped()) {
+            return;
+        }
+        try {
+            redis.convertAndSend(channel, nodeId + "\n" + cacheName + (key == null ? "" : "\n" + key));
+            invalidationsSent.increment();
+        } catch (RuntimeException e) {
+            l2Failed("publish", e);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\n", 3);
+        if (parts.length < 2 || parts[0].equals(nodeId)) {
+            return;
+        }
+        TwoLevelCache cache = caches.get(parts[1]);
+        if (cache != null) {
+            invalidationsReceived.increment();
+            String key = parts.length == 3 ? parts[2] : null;
+            cache.evictLocal(key);
+            remoteEvictionListener.accept(parts[1], key);
+        }
+    }
+
+    /**
+     * @param listener 参数为缓存名和 key（清空整个缓存时为 null）
+     */
+    public void setRemoteEvictionListener(BiConsumer<String, String> listener) {
+        this.remoteEvictionListener = listener;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    public long getL2Hits() {
+        return (long) l2Hits.count();
+    }
+
+    public long getL2Misses() {
+        return (long) l2Misses.count();
+    }
+
+    public long getL2Errors() {
+        return (long) l2Errors.count();
+    }
+
+    private boolean l2Skipped() {
+        if (System.nanoTime() - l2SkipUntil < 0) {
+            return true;
+        }
+        if (recoveryPending.compareAndSet(true, false)) {
+            recover();
+            return System.nanoTime() - l2SkipUntil < 0;
+        }
+        return false;
+    }
+
+    /**
+     * Redis 恢复后第一次使用 L2 之前：故障期间的失效没能写到 L2，也没能广播出去，
+     * 清空 L2 中的全部缓存并通知其它实例清空 L1，之后所有实例从数据库重新加载
+     */
+    private void recover() {
+        try {
+            for (String cacheName : caches.keySet()) {
+                unlinkAll(cacheName);
+                redis.convertAndSend(channel, nodeId + "\n" + cacheName);
+            }
+            log.info("L2 cache reachable again, flushed entries written before the outage");
+        } catch (RuntimeException e) {
+            l2Failed("recover", e);
+        }
+    }
+
+    private void l2Failed(String operation, RuntimeException e) {
+        l2Errors.increment();
+        // 只在第一次失败时打印，暂停期间的请求直接跳过 L2（退化为单机 L1 缓存）
+        boolean firstFailure = System.nanoTime() - l2SkipUntil >= 0;
+        l2SkipUntil = System.nanoTime() + retryAfterNanos;
+        recoveryPending.set(true);
+        if (firstFailure) {
+            log.warn("L2 cache {} failed, bypassing Redis for {} ms: {}", operation,
+                    TimeUnit.NANOSECONDS.toMillis(retryAfterNanos), e.getMessage());
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String name, String... tags) {
+        return Counter.builder(name).tags(tags).register(meterRegistry);
+    }
+}
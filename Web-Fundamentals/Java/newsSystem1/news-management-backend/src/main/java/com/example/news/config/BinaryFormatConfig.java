@@ -0,0 +1,31 @@
+package com.example.news.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * BinaryFormatConfig
+ * 可选的紧凑二进制表示（CBOR / Smile）。客户端在 Accept 中明确要求时才会使用，默认仍返回 JSON。
+ * <p>
+ * Spring MVC 在类路径上发现 CBOR / Smile 时会自动注册转换器，但使用的是未经 spring.jackson.*
+ * 定制的 ObjectMapper；这里用 Spring Boot 的 Jackson2ObjectMapperBuilder 重新创建，
+ * 保证模块、日期格式等与 JSON 完全一致。同类型的 Bean 会替换默认转换器并保持其原有顺序（JSON 之后）。
+ */
+@Configuration
+public class BinaryFormatConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
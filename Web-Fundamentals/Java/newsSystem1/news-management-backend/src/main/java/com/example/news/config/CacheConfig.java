@@ -0,0 +1,148 @@
+package com.example.news.config;
+
+import com.example.news.cache.TwoLevelCacheManager;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * CacheConfig
+ * 读穿缓存，缓存单篇新闻元数据、压缩后的正文、分页摘要和按用户名加载的用户。
+ * 默认只有进程内的 Caffeine（W-TinyLFU 淘汰）；多实例部署时开启 app.cache.l2.enabled，
+ * 改为 Caffeine (L1) + Redis (L2) 两级缓存，修改新闻时通过 Redis 发布/订阅让所有实例的 L1 失效。
+ * 大小与过期时间可在 application.properties 中配置，并记录命中/未命中/淘汰统计。
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // 单篇新闻元数据缓存（不含正文），key 为新闻 id
+    public static final String NEWS_BY_ID = "newsById";
+
+    // 压缩后的正文字节，key 为新闻 id；按字节数而不是条数限制容量
+    public static final String NEWS_CONTENT = "newsContent";
+
+    // 单篇新闻的校验信息（版本号/修改时间），key 为新闻 id
+    public static final String NEWS_VERSIONS = "newsVersions";
+
+    // 列表级缓存：分页摘要（key 为 (cursor, size)），任何修改都会整体清空
+    public static final String NEWS_PAGES = "newsPages";
+
+    // 按用户名加载的用户（登录、兼容模式的 JWT 认证），key 为用户名；
+    // 含密码哈希，启用两级缓存时也只保存在进程内
+    public static final String USERS_BY_USERNAME = "usersByUsername";
+
+    @Value("${app.cache.news.max-size:10000}")
+    private long newsMaxSize;
+
+    @Value("${app.cache.news.ttl:10m}")
+    private Duration newsTtl;
+
+    @Value("${app.cache.news-content.max-size:64MB}")
+    private DataSize contentMaxSize;
+
+    @Value("${app.cache.news-pages.max-size:1000}")
+    private long pagesMaxSize;
+
+    @Value("${app.cache.news-pages.ttl:30s}")
+    private Duration pagesTtl;
+
+    @Value("${app.cache.users.max-size:10000}")
+    private long usersMaxSize;
+
+    @Value("${app.cache.users.ttl:5m}")
+    private Duration usersTtl;
+
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.l2.enabled", havingValue = "false", matchIfMissing = true)
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // 只允许使用下面注册的缓存，避免拼写错误时悄悄创建无界缓存
+        cacheManager.setCacheNames(List.of());
+        caffeineSpecs(null).forEach((name, spec) -> cacheManager.registerCustomCache(name, spec.build()));
+        return cacheManager;
+    }
+
+    /**
+     * 两级缓存：L1 沿用上面的大小限制，但存活时间不超过 app.cache.l2.l1-ttl，
+     * 用来兜底丢失的失效消息；L2 使用各缓存原本的存活时间。
+     * usersByUsername 不进入 Redis，也没有失效消息，保持原本的存活时间
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.l2.enabled", havingValue = "true")
+    public TwoLevelCacheManager twoLevelCacheManager(StringRedisTemplate redisTemplate, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${app.cache.l2.l1-ttl:1m}") Duration l1Ttl,
+            @Value("${app.cache.l2.key-prefix:news:cache:}") String keyPrefix,
+            @Value("${app.cache.l2.channel:news:cache:invalidate}") String channel,
+            @Value("${app.cache.l2.load-lease:2s}") Duration loadLease,
+            @Value("${app.cache.l2.retry-after:5s}") Duration retryAfter) {
+        Map<String, Caffeine<Object, Object>> l1Specs = caffeineSpecs(l1Ttl);
+        l1Specs.put(USERS_BY_USERNAME, caffeineSpecs(null).get(USERS_BY_USERNAME));
+        return new TwoLevelCacheManager(l1Specs, ttls(), Set.of(USERS_BY_USERNAME), redisTemplate, objectMapper,
+                meterRegistry, keyPrefix, channel, loadLease, retryAfter);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.l2.enabled", havingValue = "true")
+    public RedisMessageListenerContainer cacheInvalidationListener(RedisConnectionFactory connectionFactory,
+            TwoLevelCacheManager cacheManager) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheManager, new ChannelTopic(cacheManager.getChannel()));
+        return container;
+    }
+
+    /**
+     * 各缓存的 Caffeine 构造器
+     *
+     * @param maxTtl 不为 null 时，存活时间不超过该值
+     */
+    private Map<String, Caffeine<Object, Object>> caffeineSpecs(Duration maxTtl) {
+        Map<String, Caffeine<Object, Object>> specs = new LinkedHashMap<>();
+        Map<String, Duration> ttls = ttls();
+        specs.put(NEWS_BY_ID, Caffeine.newBuilder()
+                .maximumSize(newsMaxSize));
+        specs.put(NEWS_CONTENT, Caffeine.newBuilder()
+                .maximumWeight(contentMaxSize.toBytes())
+                .weigher((key, value) -> value instanceof byte[] bytes ? bytes.length : 1));
+        specs.put(NEWS_VERSIONS, Caffeine.newBuilder()
+                .maximumSize(newsMaxSize));
+        specs.put(NEWS_PAGES, Caffeine.newBuilder()
+                .maximumSize(pagesMaxSize));
+        specs.put(USERS_BY_USERNAME, Caffeine.newBuilder()
+                .maximumSize(usersMaxSize));
+        specs.forEach((name, spec) -> {
+            Duration ttl = ttls.get(name);
+            spec.expireAfterWrite(maxTtl != null && maxTtl.compareTo(ttl) < 0 ? maxTtl : ttl).recordStats();
+        });
+        return specs;
+    }
+
+    private Map<String, Duration> ttls() {
+        return Map.of(
+                NEWS_BY_ID, newsTtl,
+                NEWS_CONTENT, newsTtl,
+                NEWS_VERSIONS, newsTtl,
+                NEWS_PAGES, pagesTtl,
+                USERS_BY_USERNAME, usersTtl);
+    }
+}
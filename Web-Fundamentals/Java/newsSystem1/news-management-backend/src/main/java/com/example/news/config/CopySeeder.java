@@ -0,0 +1,233 @@
+package com.example.news.config;
+
+import com.example.news.model.News;
+import com.example.news.model.NewsContent;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+/**
+ * CopySeeder
+ * 大数据量种子数据（app.seed.mode=copy）：绕过 JPA，用 PostgreSQL COPY 协议把生成的新闻和用户流式写入数据库。
+ * <p>
+ * 新闻按 app.seed.copy.chunk-size 分块，由 app.seed.copy.threads 个线程各自使用一个连接并行写入，每块一个事务：
+ * 先 COPY 到会话临时表，再一条 INSERT ... SELECT 写入 news 并在数据库内计算检索向量，最后 COPY 压缩后的正文到 news_content。
+ * 主键直接由序号决定，写完后把 news_seq 推进到最大 id 之后。
+ * 种子数据不经过发件箱，也不产生变更事件。
+ */
+@Component
+public class CopySeeder {
+
+    private static final String STAGE_NEWS = "create temp table if not exists seed_news ("
+            + "id bigint, title varchar(255), content text, excerpt varchar(" + News.EXCERPT_LENGTH + "), "
+            + "author varchar(255), publish_date timestamp) on commit delete rows";
+
+    private static final String INSERT_NEWS = "insert into news "
+            + "(id, title, excerpt, author, publish_date, updated_at, version, search_vector) "
+            + "select id, title, excerpt, author, publish_date, publish_date, 0, "
+            + "setweight(to_tsvector('simple', coalesce(title, '')), 'A') || "
+            + "setweight(to_tsvector('simple', coalesce(content, '')), 'B') from seed_news";
+
+    private static final String INSERT_NEWS_WITHOUT_VECTOR = "insert into news "
+            + "(id, title, excerpt, author, publish_date, updated_at, version) "
+            + "select id, title, excerpt, author, publish_date, publish_date, 0 from seed_news";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    // 并行写入的线程（连接）数，不应超过连接池大小
+    @Value("${app.seed.copy.threads:4}")
+    private int threads;
+
+    // 每个事务写入的新闻篇数
+    @Value("${app.seed.copy.chunk-size:20000}")
+    private int chunkSize;
+
+    public CopySeeder(DataSource dataSource) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * 写入 prefix1..prefixN 用户，已存在的用户名跳过；所有用户使用同一个预先计算好的密码哈希
+     *
+     * @return 新增的用户数
+     */
+    public int copyUsers(String prefix, int count, String passwordHash, String role) throws SQLException, IOException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("create temp table if not exists seed_users ("
+                        + "username varchar(255), password varchar(255), role varchar(255)) on commit delete rows");
+            }
+            try (Writer out = copyIn(connection, "copy seed_users (username, password, role) from stdin")) {
+                for (int i = 1; i <= count; i++) {
+                    out.write(escape(prefix + i));
+                    out.write('\t');
+                    out.write(escape(passwordHash));
+                    out.write('\t');
+                    out.write(role);
+                    out.write('\n');
+                }
+            }
+            int created;
+            try (Statement statement = connection.createStatement()) {
+                created = statement.executeUpdate("insert into users (username, password, role) "
+                        + "select username, password, role from seed_users on conflict (username) do nothing");
+            }
+            connection.commit();
+            return created;
+        }
+    }
+
+    /**
+     * 并行写入序号 [from, to) 的新闻，第 i 篇由 generator 生成，主键为 idBase + i + 1
+     *
+     * @return 写入的字节数（news 与 news_content 两次 COPY 的数据量，不含检索向量）
+     */
+    public long copyNews(long from, long to, LongFunction<News> generator)
+            throws InterruptedException, ExecutionException {
+        boolean searchVector = hasSearchVector();
+        // 已有数据之后的 id：与新闻条数无关，避免与已删除新闻留下的 id 或序列已分配的 id 冲突
+        long idBase = jdbcTemplate.queryForObject("select greatest((select coalesce(max(id), 0) from news), "
+                + "(select last_value from news_seq))", Long.class) - from;
+        AtomicLong bytes = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "seed-copy");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> chunks = new ArrayList<>();
+            for (long start = from; start < to; start += chunkSize) {
+                long chunkStart = start;
+                long chunkEnd = Math.min(start + chunkSize, to);
+                chunks.add(executor.submit(() -> {
+                    bytes.addAndGet(copyChunk(chunkStart, chunkEnd, idBase, generator, searchVector));
+                    return null;
+                }));
+            }
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        // 之后通过 JPA 插入的新闻从序列取 id，必须越过种子数据
+        jdbcTemplate.queryForObject("select setval('news_seq', greatest("
+                + "(select coalesce(max(id), 0) from news), (select last_value from news_seq)))", Long.class);
+        return bytes.get();
+    }
+
+    private long copyChunk(long from, long to, long idBase, LongFunction<News> generator, boolean searchVector)
+            throws SQLException, IOException {
+        long bytes = 0;
+        List<byte[]> bodies = new ArrayList<>((int) (to - from));
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(STAGE_NEWS);
+            }
+            try (Writer out = copyIn(connection,
+                    "copy seed_news (id, title, content, excerpt, author, publish_date) from stdin")) {
+                for (long i = from; i < to; i++) {
+                    News news = generator.apply(i);
+                    String row = (idBase + i + 1) + "\t" + escape(news.getTitle()) + "\t" + escape(news.getContent())
+                            + "\t" + escape(News.excerptOf(news.getContent())) + "\t" + escape(news.getAuthor())
+                            + "\t" + Timestamp.valueOf(news.getPublishDate()) + "\n";
+                    out.write(row);
+                    bytes += row.length();
+                    bodies.add(NewsContent.compress(news.getContent()));
+                }
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate(searchVector ? INSERT_NEWS : INSERT_NEWS_WITHOUT_VECTOR);
+            }
+            // bytea 在 COPY 文本格式中写成 \\x 加十六进制
+            try (Writer out = copyIn(connection, "copy news_content (news_id, data) from stdin")) {
+                StringBuilder row = new StringBuilder();
+                for (int k = 0; k < bodies.size(); k++) {
+                    row.setLength(0);
+                    row.append(idBase + from + k + 1).append("\t\\\\x");
+                    appendHex(row, bodies.get(k));
+                    row.append('\n');
+                    out.append(row);
+                    bytes += row.length();
+                }
+            }
+            connection.commit();
+        }
+        return bytes;
+    }
+
+    private boolean hasSearchVector() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("select exists (select 1 from "
+                + "information_schema.columns where table_name = 'news' and column_name = 'search_vector')",
+                Boolean.class));
+    }
+
+    private static Writer copyIn(Connection connection, String sql) throws SQLException {
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        return new BufferedWriter(new OutputStreamWriter(new PGCopyOutputStream(pgConnection, sql, 1 << 16),
+                StandardCharsets.UTF_8), 1 << 16);
+    }
+
+    /**
+     * COPY 文本格式的转义：反斜杠和分隔用的制表符、换行符；null 写成 \N
+     */
+    private static String escape(String value) {
+        if (value == null) {
+            return "\\N";
+        }
+        StringBuilder sb = null;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            String replacement = switch (c) {
+                case '\\' -> "\\\\";
+                case '\t' -> "\\t";
+                case '\n' -> "\\n";
+                case '\r' -> "\\r";
+                default -> null;
+            };
+            if (replacement != null && sb == null) {
+                sb = new StringBuilder(value.length() + 16).append(value, 0, i);
+            }
+            if (sb != null) {
+                if (replacement != null) {
+                    sb.append(replacement);
+                } else {
+                    sb.append(c);
+                }
+            }
+        }
+        return sb == null ? value : sb.toString();
+    }
+
+    private static void appendHex(StringBuilder sb, byte[] data) {
+        char[] digits = "0123456789abcdef".toCharArray();
+        for (byte b : data) {
+            sb.append(digits[(b >> 4) & 0xf]).append(digits[b & 0xf]);
+        }
+    }
+}
@@ -1,31 +1,99 @@
 package com.example.news.config;
 
+import com.example.news.model.News;
 import com.example.news.model.User;
+import com.example.news.repository.NewsRepository;
 import com.example.news.repository.UserRepository;
 import com.example.news.security.Role;
+import com.example.news.service.NewsBulkService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
 /**
  * DataLoader
  * 启动时运行，用于创建初始的 ADMIN 用户。
+ * <p>
+ * app.seed.news / app.seed.users 大于 0 时（例如 loadtest 配置文件）再补齐压测数据：
+ * 第 i 篇新闻和第 i 个用户的内容只由序号和 app.seed.random-seed 决定，
+ * 已有的数据不会重复插入，因此不同提交之间的压测面对的是同一份数据。
+ * <p>
+ * app.seed.mode=bulk（默认）通过批量接口写入，适合几万条以内；
+ * app.seed.mode=copy 由 CopySeeder 用 COPY 协议并行写入，用于百万级数据（largedata 配置文件）。
+ * 在检索列、序列等初始化之后运行。
  */
 @Component
+@Order(Ordered.LOWEST_PRECEDENCE)
 public class DataLoader implements CommandLineRunner {
 
+    // 压测用户名前缀，密码统一为 SEED_PASSWORD
+    public static final String SEED_USER_PREFIX = "loaduser";
+    public static final String SEED_PASSWORD = "password";
+
+    // 种子新闻的发布时间从这里开始，每篇间隔一分钟
+    private static final LocalDateTime SEED_EPOCH = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private static final String[] WORDS = { "market", "election", "climate", "football", "science", "budget",
+            "startup", "health", "energy", "transport", "music", "weather", "education", "housing", "security",
+            "research", "festival", "trade", "policy", "technology" };
+
     private final UserRepository userRepository;
+    private final NewsRepository newsRepository;
+    private final NewsBulkService newsBulkService;
+    private final CopySeeder copySeeder;
+    private final CacheManager cacheManager;
+    private final EntityManagerFactory entityManagerFactory;
     private final PasswordEncoder passwordEncoder;
 
-    public DataLoader(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    @Value("${app.seed.mode:bulk}")
+    private String seedMode;
+
+    @Value("${app.seed.news:0}")
+    private int seedNews;
+
+    @Value("${app.seed.users:0}")
+    private int seedUsers;
+
+    @Value("${app.seed.content-length:2000}")
+    private int contentLength;
+
+    @Value("${app.seed.random-seed:42}")
+    private long randomSeed;
+
+    // 每次调用批量接口的条数，不能超过 app.news.bulk.max-items
+    @Value("${app.news.bulk.max-items:1000}")
+    private int chunkSize;
+
+    public DataLoader(UserRepository userRepository, NewsRepository newsRepository, NewsBulkService newsBulkService,
+            CopySeeder copySeeder, CacheManager cacheManager, EntityManagerFactory entityManagerFactory,
+            PasswordEncoder passwordEncoder) {
         this.userRepository = userRepository;
+        this.newsRepository = newsRepository;
+        this.newsBulkService = newsBulkService;
+        this.copySeeder = copySeeder;
+        this.cacheManager = cacheManager;
+        this.entityManagerFactory = entityManagerFactory;
         this.passwordEncoder = passwordEncoder;
     }
 
     @Override
     public void run(String... args) throws Exception {
         initData();
+        seedUsers();
+        seedNews();
     }
 
     private void initData() {
@@ -41,4 +109,101 @@ public class DataLoader implements CommandLineRunner {
             System.out.println("--- ADMIN user created: admin/password ---");
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 创建 loaduser1 .. loaduserN；所有用户密码相同，只计算一次 BCrypt
+     */
+    private void seedUsers() throws Exception {
+        if (seedUsers <= 0 || userRepository.existsByUsername(SEED_USER_PREFIX + seedUsers)) {
+            return;
+        }
+        String hash = passwordEncoder.encode(SEED_PASSWORD);
+        if (isCopyMode()) {
+            int created = copySeeder.copyUsers(SEED_USER_PREFIX, seedUsers, hash, Role.USER.name());
+            System.out.println("--- Seeded " + created + " load-test users with COPY (" + SEED_USER_PREFIX + "1.."
+                    + SEED_USER_PREFIX + seedUsers + " / " + SEED_PASSWORD + ") ---");
+            return;
+        }
+        List<User> batch = new ArrayList<>();
+        int created = 0;
+        for (int i = 1; i <= seedUsers; i++) {
+            String username = SEED_USER_PREFIX + i;
+            if (userRepository.existsByUsername(username)) {
+                continue;
+            }
+            User user = new User();
+            user.setUsername(username);
+            user.setPassword(hash);
+            user.setRole(Role.USER);
+            batch.add(user);
+            if (batch.size() == chunkSize) {
+                created += save(batch);
+            }
+        }
+        created += save(batch);
+        System.out.println("--- Seeded " + created + " load-test users (" + SEED_USER_PREFIX + "1.."
+                + SEED_USER_PREFIX + seedUsers + " / " + SEED_PASSWORD + ") ---");
+    }
+
+    private int save(List<User> batch) {
+        userRepository.saveAll(batch);
+        int size = batch.size();
+        batch.clear();
+        return size;
+    }
+
+    private boolean isCopyMode() {
+        return "copy".equalsIgnoreCase(seedMode);
+    }
+
+    /**
+     * 补齐到 app.seed.news 篇新闻，通过批量接口写入（同时生成正文、检索向量和发件箱事件）或 COPY 写入
+     */
+    private void seedNews() throws Exception {
+        long existing = newsRepository.count();
+        if (seedNews <= existing) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        if (isCopyMode()) {
+            long bytes = copySeeder.copyNews(existing, seedNews, this::seedArticle);
+            // 启动期间可能已有请求把“不存在”写进了缓存
+            for (String name : new String[] { CacheConfig.NEWS_BY_ID, CacheConfig.NEWS_CONTENT,
+                    CacheConfig.NEWS_VERSIONS, CacheConfig.NEWS_PAGES }) {
+                Cache cache = cacheManager.getCache(name);
+                if (cache != null) {
+                    cache.clear();
+                }
+            }
+            // COPY 绕过了 Hibernate，更新时间戳不会变化，查询缓存中的列表需要手动清除
+            entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+            System.out.println("--- Seeded " + (seedNews - existing) + " load-test news articles with COPY ("
+                    + bytes / (1024 * 1024) + " MB) in " + (System.currentTimeMillis() - start) + " ms ---");
+            return;
+        }
+        for (long from = existing; from < seedNews; from += chunkSize) {
+            List<News> chunk = new ArrayList<>(chunkSize);
+            for (long i = from; i < Math.min(from + chunkSize, seedNews); i++) {
+                chunk.add(seedArticle(i));
+            }
+            newsBulkService.createAll(chunk, "admin");
+        }
+        System.out.println("--- Seeded " + (seedNews - existing) + " load-test news articles in "
+                + (System.currentTimeMillis() - start) + " ms ---");
+    }
+
+    private News seedArticle(long index) {
+        Random random = new Random(randomSeed * 31 + index);
+        News news = new News();
+        news.setTitle(WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]
+                + " report #" + (index + 1));
+        StringBuilder content = new StringBuilder(contentLength + 16);
+        while (content.length() < contentLength) {
+            content.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        news.setContent(content.toString());
+        news.setAuthor("admin");
+        news.setPublishDate(SEED_EPOCH.plusMinutes(index));
+        return news;
+    }
+}
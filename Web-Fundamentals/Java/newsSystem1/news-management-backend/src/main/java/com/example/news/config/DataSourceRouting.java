@@ -0,0 +1,51 @@
+package com.example.news.config;
+
+import java.util.function.Supplier;
+
+/**
+ * 读写分离的路由提示。
+ * <p>
+ * 启用 app.datasource.routing.enabled 后，只读事务（@Transactional(readOnly = true)，
+ * 包括 Spring Data 仓库默认的查询方法）会发往只读副本，其余发往主库。
+ * 在 onPrimary 中执行的代码即使是只读事务也使用主库，用于“刚写完就要读到”的场景。
+ * 未启用路由时这些方法没有任何效果。
+ */
+public final class DataSourceRouting {
+
+    private static final ThreadLocal<Boolean> FORCE_PRIMARY = new ThreadLocal<>();
+
+    private DataSourceRouting() {
+    }
+
+    /**
+     * 在主库上执行一段代码（其中的只读事务也不会路由到副本）
+     */
+    public static <T> T onPrimary(Supplier<T> work) {
+        Boolean previous = FORCE_PRIMARY.get();
+        FORCE_PRIMARY.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                FORCE_PRIMARY.remove();
+            } else {
+                FORCE_PRIMARY.set(previous);
+            }
+        }
+    }
+
+    /**
+     * 整个请求范围内强制使用主库（由 ReadYourWritesFilter 设置并在请求结束时清除）
+     */
+    static void setPrimaryForced(boolean forced) {
+        if (forced) {
+            FORCE_PRIMARY.set(Boolean.TRUE);
+        } else {
+            FORCE_PRIMARY.remove();
+        }
+    }
+
+    static boolean isPrimaryForced() {
+        return FORCE_PRIMARY.get() != null;
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.news.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 读写分离（app.datasource.routing.enabled=true 时生效）。
+ * 主库沿用 spring.datasource.*，副本地址来自 app.datasource.replica-urls，连接池参数与主库相同。
+ * 未启用时使用 Spring Boot 默认的单一数据源。
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.routing.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    /**
+     * 主库连接池，绑定 spring.datasource.hikari.* 配置
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * 应用实际使用的数据源：延迟取连接，使路由能看到事务的只读标记
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource(HikariDataSource primaryDataSource, MeterRegistry meterRegistry,
+            @Value("${app.datasource.replica-urls}") List<String> replicaUrls,
+            @Value("${app.datasource.replica-username:}") String replicaUsername,
+            @Value("${app.datasource.replica-password:}") String replicaPassword,
+            @Value("${app.datasource.routing.replica-connection-timeout:2s}") Duration connectionTimeout,
+            @Value("${app.datasource.routing.health-check-interval:5s}") Duration healthCheckInterval) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            primaryDataSource.copyStateTo(replica);
+            replica.setJdbcUrl(replicaUrls.get(i).trim());
+            replica.setPoolName("replica-" + (i + 1));
+            if (!replicaUsername.isEmpty()) {
+                replica.setUsername(replicaUsername);
+                replica.setPassword(replicaPassword);
+            }
+            // 副本不可用时尽快失败并退回主库；启动时副本不可达也不影响应用启动
+            replica.setConnectionTimeout(connectionTimeout.toMillis());
+            replica.setInitializationFailTimeout(-1);
+            if (replica.getMetricRegistry() == null && replica.getMetricsTrackerFactory() == null) {
+                replica.setMetricRegistry(meterRegistry);
+            }
+            replicas.add(replica);
+        }
+        return new ReadWriteRoutingDataSource(primaryDataSource, replicas, healthCheckInterval, meterRegistry);
+    }
+}
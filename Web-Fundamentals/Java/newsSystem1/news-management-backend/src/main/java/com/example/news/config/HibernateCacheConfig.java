@@ -0,0 +1,136 @@
+package com.example.news.config;
+
+import com.example.news.cache.TwoLevelCacheManager;
+import com.example.news.model.News;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Hibernate 二级缓存与查询缓存（JCache 接口，Caffeine 实现）。
+ * <p>
+ * 位于 Spring Cache（CacheConfig）之下：Spring Cache 未命中或不经过 Spring Cache 的实体加载（findById、
+ * 按自然键加载用户）先查这里。News 只缓存元数据，User 另有 用户名 -> id 的自然键缓存；
+ * 首页和分页列表查询的结果进入查询缓存，任何对 news 表的写入都会通过更新时间戳让相关查询结果失效。
+ * <p>
+ * 各区域在启动时按 app.cache.hibernate.* 预先创建（missing_cache_strategy=fail，不会悄悄创建无界区域）。
+ * 二级缓存只在本进程内，启用 Redis 两级缓存时借用它的失效广播清理其它实例上对应的区域。
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    // 区域名，与实体上 @Cache / @NaturalIdCache 的 region 一致
+    public static final String NEWS_REGION = "news";
+    public static final String USERS_REGION = "users";
+    public static final String USERS_NATURAL_ID_REGION = "usersByNaturalId";
+
+    @Value("${app.cache.hibernate.enabled:true}")
+    private boolean enabled;
+
+    // 不小于首页快照的条数（app.news.snapshot.max-items），否则查询缓存命中后仍要逐条加载被淘汰的实体
+    @Value("${app.cache.hibernate.news.max-size:20000}")
+    private long newsMaxSize;
+
+    @Value("${app.cache.hibernate.news.ttl:10m}")
+    private Duration newsTtl;
+
+    @Value("${app.cache.hibernate.users.max-size:10000}")
+    private long usersMaxSize;
+
+    @Value("${app.cache.hibernate.users.ttl:10m}")
+    private Duration usersTtl;
+
+    // 查询结果只保存 id，存活时间不应超过 news 实体区域
+    @Value("${app.cache.hibernate.queries.max-size:1000}")
+    private long queriesMaxSize;
+
+    @Value("${app.cache.hibernate.queries.ttl:1m}")
+    private Duration queriesTtl;
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "app.cache.hibernate.enabled", havingValue = "true", matchIfMissing = true)
+    public CacheManager hibernateCacheManager() {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager();
+        createRegion(cacheManager, NEWS_REGION, newsMaxSize, newsTtl);
+        createRegion(cacheManager, USERS_REGION, usersMaxSize, usersTtl);
+        createRegion(cacheManager, USERS_NATURAL_ID_REGION, usersMaxSize, usersTtl);
+        createRegion(cacheManager, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, queriesMaxSize,
+                queriesTtl);
+        // 更新时间戳决定查询结果是否过期，不能被淘汰
+        createRegion(cacheManager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, 0, null);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheProperties(ObjectProvider<CacheManager> cacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, enabled);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, enabled);
+            if (enabled) {
+                properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+                properties.put(ConfigSettings.CACHE_MANAGER, cacheManager.getObject());
+                properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            }
+        };
+    }
+
+    /**
+     * 多实例部署：其它实例修改新闻后，Spring Cache 的失效通知同时清理本实例的二级缓存，
+     * 避免重新加载时从本地二级缓存读回旧值
+     */
+    @Bean
+    @ConditionalOnProperty(name = { "app.cache.l2.enabled", "app.cache.hibernate.enabled" }, havingValue = "true")
+    public SmartInitializingSingleton hibernateCacheRemoteInvalidation(TwoLevelCacheManager cacheManager,
+            EntityManagerFactory entityManagerFactory) {
+        org.hibernate.Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        return () -> cacheManager.setRemoteEvictionListener((cacheName, key) -> {
+            switch (cacheName) {
+                case CacheConfig.NEWS_BY_ID, CacheConfig.NEWS_VERSIONS -> {
+                    if (key == null) {
+                        cache.evictEntityData(News.class);
+                    } else {
+                        cache.evictEntityData(News.class, Long.valueOf(key));
+                    }
+                }
+                // 新增、修改、删除都会清空分页缓存：列表查询结果随之失效
+                case CacheConfig.NEWS_PAGES -> cache.evictQueryRegions();
+                default -> {
+                }
+            }
+        });
+    }
+
+    /**
+     * @param maxSize 最大条目数，0 表示不限
+     * @param ttl     写入后的存活时间，null 表示不过期
+     */
+    private static void createRegion(CacheManager cacheManager, String name, long maxSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        // Hibernate 存入的是拆解后的状态，不会被修改，无需 JCache 默认的按值复制（每次读写都要序列化）
+        configuration.setStoreByValue(false);
+        if (maxSize > 0) {
+            configuration.setMaximumSize(OptionalLong.of(maxSize));
+        }
+        if (ttl != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        }
+        cacheManager.createCache(name, configuration);
+    }
+}
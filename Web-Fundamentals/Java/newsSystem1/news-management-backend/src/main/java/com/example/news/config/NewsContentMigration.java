@@ -0,0 +1,160 @@
+package com.example.news.config;
+
+import com.example.news.model.News;
+import com.example.news.model.NewsContent;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * NewsContentMigration
+ * 正文从 news.content 列移到 news_content 表（压缩存储）之后，旧数据库中的正文仍在原列中。
+ * 启动时分批把尚未迁移的正文压缩后写入 news_content，并去掉原列的非空约束，使新插入的新闻不再写该列。
+ * 原列保留不删除，确认迁移无误后可手动删除。需要在全文检索回填之前执行。
+ * <p>
+ * 同时补齐加入 excerpt 列之前写入的新闻的摘要（由 news_content 中的正文生成），
+ * 以及缺少发布时间的旧数据（取修改时间），之后 publish_date 加上非空约束，分页游标总能编码。
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class NewsContentMigration implements CommandLineRunner {
+
+    // 每批迁移的行数
+    private static final int BATCH_SIZE = 500;
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    public NewsContentMigration(DataSource dataSource) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        migrateContent();
+        backfillPublishDates();
+        backfillExcerpts();
+    }
+
+    private void migrateContent() throws SQLException {
+        Map<String, Object> column = legacyContentColumn();
+        if (column == null) {
+            return;
+        }
+
+        // PostgreSQL 上 @Lob String 以大对象 (oid) 存储，需要通过 lo_get 读取
+        String content = "oid".equalsIgnoreCase((String) column.get("TYPE_NAME"))
+                ? "convert_from(lo_get(n.content), 'UTF8')"
+                : "n.content";
+        String select = "select n.id, " + content + " from news n "
+                + "where n.content is not null "
+                + "and not exists (select 1 from news_content c where c.news_id = n.id) "
+                + "order by n.id limit " + BATCH_SIZE;
+
+        long total = 0;
+        List<Object[]> rows;
+        do {
+            rows = jdbcTemplate.query(select, (rs, i) -> new Object[] { rs.getLong(1), rs.getString(2) });
+            jdbcTemplate.batchUpdate("insert into news_content (news_id, data) values (?, ?)", rows, rows.size(),
+                    (ps, row) -> {
+                        ps.setLong(1, (Long) row[0]);
+                        ps.setBytes(2, NewsContent.compress((String) row[1]));
+                    });
+            total += rows.size();
+        } while (!rows.isEmpty());
+
+        if (Boolean.TRUE.equals(column.get("NOT_NULL"))) {
+            jdbcTemplate.execute("alter table news alter column content drop not null");
+        }
+        if (total > 0) {
+            System.out.println("--- News content migrated to news_content: " + total
+                    + " (legacy column news.content can be dropped) ---");
+        }
+    }
+
+    private void backfillPublishDates() throws SQLException {
+        int updated = jdbcTemplate.update("update news set publish_date = coalesce(updated_at, current_timestamp) "
+                + "where publish_date is null");
+        if (Boolean.FALSE.equals(notNull("publish_date"))) {
+            jdbcTemplate.execute("alter table news alter column publish_date set not null");
+        }
+        if (updated > 0) {
+            System.out.println("--- Backfilled publish_date for " + updated + " news articles ---");
+        }
+    }
+
+    /**
+     * 按 id 分批为 excerpt 为空的新闻生成摘要；没有正文行的新闻保持为空
+     */
+    private void backfillExcerpts() {
+        String select = "select n.id, c.data from news n join news_content c on c.news_id = n.id "
+                + "where n.excerpt is null and n.id > ? order by n.id limit " + BATCH_SIZE;
+        long total = 0;
+        long lastId = 0;
+        List<Object[]> rows;
+        do {
+            rows = jdbcTemplate.query(select, (rs, i) -> new Object[] { rs.getLong(1), rs.getBytes(2) }, lastId);
+            jdbcTemplate.batchUpdate("update news set excerpt = ? where id = ?", rows, rows.size(),
+                    (ps, row) -> {
+                        ps.setString(1, News.excerptOf(NewsContent.decompress((byte[]) row[1])));
+                        ps.setLong(2, (Long) row[0]);
+                    });
+            if (!rows.isEmpty()) {
+                lastId = (Long) rows.get(rows.size() - 1)[0];
+            }
+            total += rows.size();
+        } while (!rows.isEmpty());
+        if (total > 0) {
+            System.out.println("--- Backfilled excerpts for " + total + " news articles ---");
+        }
+    }
+
+    /**
+     * news 表中指定列是否有非空约束，列不存在时返回 null
+     */
+    private Boolean notNull(String columnName) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData meta = connection.getMetaData();
+            for (String[] names : new String[][] { { "news", columnName },
+                    { "NEWS", columnName.toUpperCase(Locale.ROOT) } }) {
+                try (ResultSet rs = meta.getColumns(null, null, names[0], names[1])) {
+                    if (rs.next()) {
+                        return rs.getInt("NULLABLE") == DatabaseMetaData.columnNoNulls;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 查找旧的 news.content 列，不存在时返回 null
+     */
+    private Map<String, Object> legacyContentColumn() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData meta = connection.getMetaData();
+            // PostgreSQL 标识符为小写，H2 等为大写
+            for (String[] names : new String[][] { { "news", "content" }, { "NEWS", "CONTENT" } }) {
+                try (ResultSet rs = meta.getColumns(null, null, names[0], names[1])) {
+                    if (rs.next()) {
+                        return Map.of("TYPE_NAME", rs.getString("TYPE_NAME"),
+                                "NOT_NULL", rs.getInt("NULLABLE") == DatabaseMetaData.columnNoNulls);
+                    }
+                }
+            }
+        }
+        return null;
+    }
+}
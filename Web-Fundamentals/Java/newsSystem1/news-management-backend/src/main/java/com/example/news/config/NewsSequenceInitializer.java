@@ -0,0 +1,48 @@
+package com.example.news.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * NewsSequenceInitializer
+ * News 主键从自增列改为序列 news_seq 之后，旧数据库中已有的 id 可能大于序列当前值。
+ * 启动时把序列推进到 max(id) 之后，避免新插入的新闻主键冲突（仅 PostgreSQL）。
+ * <p>
+ * 在所有单例创建完成后、Web 服务器开始接受请求之前执行（SmartInitializingSingleton），
+ * 此时 Hibernate 已按实体建好 news_seq，而任何请求或 CommandLineRunner（DataLoader 种子数据）都还没有从序列取号。
+ */
+@Component
+public class NewsSequenceInitializer implements SmartInitializingSingleton {
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    // 依赖 EntityManagerFactory：保证表结构（含 news_seq）已由 Hibernate 创建或更新
+    public NewsSequenceInitializer(DataSource dataSource, EntityManagerFactory entityManagerFactory) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!isPostgreSQL()) {
+            return;
+        }
+        jdbcTemplate.queryForObject("select setval('news_seq', greatest("
+                + "(select coalesce(max(id), 0) from news), (select last_value from news_seq)))", Long.class);
+    }
+
+    private boolean isPostgreSQL() {
+        try (Connection connection = dataSource.getConnection()) {
+            return "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to detect database for news_seq alignment", e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.news.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * 统计当前请求线程上 Hibernate 准备的 SQL 语句数，供 QueryMetricsFilter 记录“每请求查询数”。
+ * 通过 hibernate.session_factory.statement_inspector 注册；只在请求线程上计数，不修改 SQL。
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    private static final ThreadLocal<long[]> COUNTER = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        long[] counter = COUNTER.get();
+        if (counter != null) {
+            counter[0]++;
+        }
+        return sql;
+    }
+
+    static void start() {
+        COUNTER.set(new long[1]);
+    }
+
+    static long stop() {
+        long[] counter = COUNTER.get();
+        COUNTER.remove();
+        return counter == null ? 0 : counter[0];
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.news.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * 记录每个 /api 请求执行的 SQL 语句数（news.http.queries，按路由模板和方法区分），
+ * 超过阈值时打印警告，用于发现 N+1 查询。
+ * 异步请求（登录、注册）的数据库访问发生在其它线程上，不计入。
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class QueryMetricsFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryMetricsFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final long warnThreshold;
+
+    public QueryMetricsFilter(MeterRegistry meterRegistry,
+            @Value("${app.metrics.queries-per-request.warn-threshold:20}") long warnThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.warnThreshold = warnThreshold;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryCountInspector.start();
+        long queries;
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            queries = QueryCountInspector.stop();
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary.builder("news.http.queries")
+                .description("SQL statements prepared while handling one request")
+                .tag("uri", uri)
+                .tag("method", request.getMethod())
+                .register(meterRegistry)
+                .record(queries);
+        if (queries > warnThreshold) {
+            log.warn("{} {} executed {} SQL statements", request.getMethod(), request.getRequestURI(), queries);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.news.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 读写分离数据源：只读事务轮询发往健康的副本，写事务和非事务访问发往主库。
+ * <p>
+ * 必须包在 LazyConnectionDataSourceProxy 里使用：JpaTransactionManager 开启事务时就会取连接，
+ * 此时事务的只读标记还没有设置，延迟到第一条 SQL 时再取连接才能按只读标记路由。
+ * <p>
+ * 副本取连接失败会立即标记为不可用并退回主库；后台定期检查，恢复后重新加入轮询。
+ */
+public class ReadWriteRoutingDataSource extends AbstractDataSource implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final ScheduledExecutorService healthChecker;
+
+    private final Counter primaryConnections;
+    private final Counter replicaConnections;
+    private final Counter failovers;
+
+    public ReadWriteRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas,
+            Duration healthCheckInterval, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.primaryConnections = connectionCounter(meterRegistry, "primary");
+        this.replicaConnections = connectionCounter(meterRegistry, "replica");
+        this.failovers = Counter.builder("news.datasource.failovers")
+                .description("Read-only connections sent to the primary because a replica was unreachable")
+                .register(meterRegistry);
+        for (Replica replica : this.replicas) {
+            Gauge.builder("news.datasource.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .tag("pool", replica.dataSource.getPoolName())
+                    .register(meterRegistry);
+        }
+        this.healthChecker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = healthCheckInterval.toMillis();
+        healthChecker.scheduleWithFixedDelay(this::checkReplicas, intervalMillis, intervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = chooseReplica();
+        if (replica != null) {
+            try {
+                Connection connection = replica.dataSource.getConnection();
+                replicaConnections.increment();
+                return connection;
+            } catch (SQLException e) {
+                markDown(replica, e);
+                failovers.increment();
+            }
+        }
+        primaryConnections.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new UnsupportedOperationException("Routing data source uses the configured pool credentials");
+    }
+
+    /**
+     * 当前线程处于只读事务且没有要求使用主库时，轮询选择一个健康的副本
+     */
+    private Replica chooseReplica() {
+        if (replicas.isEmpty()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || DataSourceRouting.isPrimaryForced()) {
+            return null;
+        }
+        int start = nextReplica.getAndIncrement();
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(Math.floorMod(start + i, replicas.size()));
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (connection.isValid(2)) {
+                    if (!replica.healthy) {
+                        log.info("Replica {} is reachable again, resuming reads", replica.dataSource.getPoolName());
+                    }
+                    replica.healthy = true;
+                } else {
+                    markDown(replica, null);
+                }
+            } catch (SQLException | RuntimeException e) {
+                markDown(replica, e);
+            }
+        }
+    }
+
+    private void markDown(Replica replica, Exception cause) {
+        if (replica.healthy) {
+            log.warn("Replica {} is unavailable, reads fall back to the primary: {}",
+                    replica.dataSource.getPoolName(), cause == null ? "connection not valid" : cause.getMessage());
+        }
+        replica.healthy = false;
+    }
+
+    private static Counter connectionCounter(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("news.datasource.connections")
+                .description("Connections handed out by the read/write routing data source")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void destroy() {
+        healthChecker.shutdownNow();
+        for (Replica replica : replicas) {
+            replica.dataSource.close();
+        }
+    }
+
+    private static class Replica {
+        final HikariDataSource dataSource;
+        volatile boolean healthy = true;
+
+        Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+}
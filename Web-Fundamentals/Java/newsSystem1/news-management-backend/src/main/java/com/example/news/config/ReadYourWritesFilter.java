@@ -0,0 +1,151 @@
+package com.example.news.config;
+
+import com.example.news.dto.NewsEvent;
+import com.example.news.security.JwtService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 读写分离下的“读己之写”：用户成功写入后的 sticky-window 时间内，他自己的读请求都走主库，
+ * 不会因为副本复制延迟看不到刚发布或修改的新闻。
+ * <p>
+ * 其他用户可能在复制完成前从副本读到旧数据并放进缓存，因此新闻变更事件到达后再等一个 sticky-window，
+ * 只清除被修改的新闻的单篇缓存和分页缓存（多次变更合并为一次）；依赖发件箱的 application 下游。
+ * /api/auth/** 不经过这个过滤器：登录/注册是异步处理的，查找用户时副本上没有会回退到主库。
+ */
+@Component
+@ConditionalOnProperty(name = "app.datasource.routing.enabled", havingValue = "true")
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private final JwtService jwtService;
+    private final CacheManager cacheManager;
+    private final Duration stickyWindow;
+
+    // 最近写入过的用户名
+    private final Cache<String, Boolean> recentWriters;
+
+    // 等待延迟清除的新闻 id
+    private final Set<Long> pendingEvictions = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean evictionPending = new AtomicBoolean();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "replica-cache-clear");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ReadYourWritesFilter(JwtService jwtService, CacheManager cacheManager,
+            @Value("${app.datasource.routing.sticky-window:5s}") Duration stickyWindow) {
+        this.jwtService = jwtService;
+        this.cacheManager = cacheManager;
+        this.stickyWindow = stickyWindow;
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(stickyWindow)
+                .build();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return !uri.startsWith("/api/") || uri.startsWith("/api/auth/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean read = "GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod());
+        if (read) {
+            // 没有最近写入的用户时不解析令牌
+            String username = recentWriters.estimatedSize() == 0 ? null : usernameOf(request);
+            if (username != null && recentWriters.getIfPresent(username) != null) {
+                DataSourceRouting.setPrimaryForced(true);
+                try {
+                    filterChain.doFilter(request, response);
+                } finally {
+                    DataSourceRouting.setPrimaryForced(false);
+                }
+                return;
+            }
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+        if (response.getStatus() < 400) {
+            String username = usernameOf(request);
+            if (username != null) {
+                recentWriters.put(username, Boolean.TRUE);
+            }
+        }
+    }
+
+    private String usernameOf(HttpServletRequest request) {
+        String authHeader = request.getHeader("Authorization");
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return null;
+        }
+        try {
+            // 写请求刚经过 JWT 过滤器，这里命中 JwtService 的已验签缓存
+            return jwtService.parseToken(authHeader.substring(7)).subject();
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 新闻变更事件（提交后由发件箱投递）：一个 sticky-window 后副本应已追上，再清除这篇新闻的缓存
+     */
+    @EventListener
+    public void onNewsEvent(NewsEvent event) {
+        if (event.getId() == null) {
+            return;
+        }
+        pendingEvictions.add(event.getId());
+        if (evictionPending.compareAndSet(false, true)) {
+            scheduler.schedule(this::evictPending, stickyWindow.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void evictPending() {
+        evictionPending.set(false);
+        List<Long> ids = new ArrayList<>(pendingEvictions);
+        pendingEvictions.removeAll(ids);
+        for (String name : List.of(CacheConfig.NEWS_BY_ID, CacheConfig.NEWS_CONTENT, CacheConfig.NEWS_VERSIONS)) {
+            org.springframework.cache.Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                ids.forEach(cache::evict);
+            }
+        }
+        // 分页摘要可能包含这些新闻的旧标题；每次写入本来就会清空分页缓存
+        org.springframework.cache.Cache pages = cacheManager.getCache(CacheConfig.NEWS_PAGES);
+        if (pages != null) {
+            pages.clear();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.news.config;
+
+import com.example.news.model.News;
+import com.example.news.model.NewsContent;
+import com.example.news.repository.NewsRepository;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * SearchIndexInitializer
+ * 启动时为 PostgreSQL 创建全文检索列 (tsvector) 和 GIN 索引，并分批回填已有新闻。
+ * 其他数据库（例如本地 H2）不支持 tsvector，此时跳过，全文检索不可用。
+ * 在 DataLoader 写入种子数据之前执行。
+ */
+@Component
+@Order(0)
+public class SearchIndexInitializer implements CommandLineRunner {
+
+    // 每批回填的行数，避免一次性长事务锁住整张表
+    private static final int BACKFILL_BATCH_SIZE = 1000;
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final NewsRepository newsRepository;
+
+    private volatile boolean available;
+
+    public SearchIndexInitializer(DataSource dataSource, NewsRepository newsRepository) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.newsRepository = newsRepository;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        if (!isPostgreSQL()) {
+            System.out.println("--- Full-text search disabled: database is not PostgreSQL ---");
+            return;
+        }
+
+        jdbcTemplate.execute("alter table news add column if not exists search_vector tsvector");
+        jdbcTemplate.execute("create index if not exists idx_news_search_vector on news using gin (search_vector)");
+        available = true;
+
+        // 回填旧数据：正文在 news_content 中压缩存储，数据库内无法直接读取，
+        // 因此分批读出压缩字节，在 JVM 中解压后以 JDBC 批处理写回检索向量
+        long total = 0;
+        List<News> batch;
+        do {
+            batch = jdbcTemplate.query("select n.id, n.title, c.data from news n "
+                    + "left join news_content c on c.news_id = n.id "
+                    + "where n.search_vector is null order by n.id limit " + BACKFILL_BATCH_SIZE, (rs, i) -> {
+                        News news = new News();
+                        news.setId(rs.getLong(1));
+                        news.setTitle(rs.getString(2));
+                        news.setContent(NewsContent.decompress(rs.getBytes(3)));
+                        return news;
+                    });
+            if (!batch.isEmpty()) {
+                newsRepository.batchUpdateSearchVectors(batch);
+            }
+            total += batch.size();
+        } while (!batch.isEmpty());
+        if (total > 0) {
+            System.out.println("--- Full-text search vectors backfilled: " + total + " ---");
+        }
+    }
+
+    /**
+     * 全文检索列和索引是否已就绪
+     */
+    public boolean isAvailable() {
+        return available;
+    }
+
+    private boolean isPostgreSQL() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            return "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package com.example.news.config;
 
+import com.example.news.security.AuthRateLimitFilter;
 import com.example.news.security.JwtAuthenticationFilter;
+import com.example.news.security.PasswordHashingExecutor;
+import com.example.news.security.TimedPasswordEncoder;
 import com.example.news.service.UserDetailsServiceImpl;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -33,11 +37,16 @@ import java.util.List;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthFilter;
+    private final AuthRateLimitFilter authRateLimitFilter;
     private final UserDetailsServiceImpl userDetailsService;
+    private final PasswordHashingExecutor hashingExecutor;
 
     @Autowired
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthFilter, UserDetailsServiceImpl userDetailsService) {
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthFilter, AuthRateLimitFilter authRateLimitFilter,
+            UserDetailsServiceImpl userDetailsService, PasswordHashingExecutor hashingExecutor) {
         this.jwtAuthFilter = jwtAuthFilter;
+        this.authRateLimitFilter = authRateLimitFilter;
+        this.hashingExecutor = hashingExecutor;
         this.userDetailsService = userDetailsService;
     }
 
@@ -55,6 +64,12 @@ public class SecurityConfig {
                         // 登录和注册允许匿名访问
                         .requestMatchers("/api/auth/**").permitAll()
 
+                        // Actuator 端点（含 Prometheus 抓取）只监听在本机的管理端口上
+                        .requestMatchers(EndpointRequest.toAnyEndpoint()).permitAll()
+
+                        // 导出会流式读取整个新闻库，只允许登录用户调用
+                        .requestMatchers(HttpMethod.GET, "/api/news/export").authenticated()
+
                         // 新闻 GET 请求允许匿名访问
                         .requestMatchers(HttpMethod.GET, "/api/news/**").permitAll()
 
@@ -79,7 +94,10 @@ public class SecurityConfig {
                 .authenticationProvider(authenticationProvider())
 
                 // 将 JWT 过滤器添加到 UsernamePasswordAuthenticationFilter 之前
-                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+
+                // 登录/注册限流放在 JWT 过滤器之前，超限请求不再做任何认证相关的工作
+                .addFilterBefore(authRateLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
@@ -106,9 +124,12 @@ public class SecurityConfig {
 
     // ====================== Beans ======================
 
+    /**
+     * BCrypt 编码器，记录每次哈希耗时；登录和注册通过 PasswordHashingExecutor 在专用线程池上调用它
+     */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new TimedPasswordEncoder(new BCryptPasswordEncoder(), hashingExecutor);
     }
 
     @Bean
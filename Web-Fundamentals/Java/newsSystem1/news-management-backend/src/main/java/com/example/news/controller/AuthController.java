@@ -9,6 +9,10 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
 @RestController
 @RequestMapping("/api/auth")
 public class AuthController {
@@ -16,24 +20,45 @@ public class AuthController {
     @Autowired
     private AuthService authService;
 
+    // 注册和登录都是异步的：BCrypt 在专用线程池上计算，Tomcat 线程立即释放去处理其它请求
     @PostMapping("/register")
-    public ResponseEntity<String> registerUser(@RequestBody RegisterRequest request) {
-        try {
-            authService.register(request);
-            return new ResponseEntity<>("User registered successfully!", HttpStatus.CREATED);
-        } catch (RuntimeException e) {
-            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
-        }
+    public CompletableFuture<ResponseEntity<String>> registerUser(@RequestBody RegisterRequest request) {
+        return authService.registerAsync(request)
+                .thenApply(jwt -> new ResponseEntity<>("User registered successfully!", HttpStatus.CREATED))
+                .exceptionally(e -> failure(e, "", HttpStatus.BAD_REQUEST));
     }
 
     @PostMapping("/login")
-    public ResponseEntity<String> authenticateUser(@RequestBody LoginRequest request) {
+    public CompletableFuture<ResponseEntity<String>> authenticateUser(@RequestBody LoginRequest request) {
+        // 在实际项目中，通常返回一个包含 JWT 的 DTO
+        return authService.loginAsync(request)
+                .thenApply(ResponseEntity::ok)
+                .exceptionally(e -> failure(e, "Authentication failed: ", HttpStatus.UNAUTHORIZED));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<String> logoutUser(@RequestHeader(value = "Authorization", required = false) String authHeader) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return new ResponseEntity<>("Missing bearer token", HttpStatus.BAD_REQUEST);
+        }
         try {
-            String jwt = authService.login(request);
-            // 在实际项目中，通常返回一个包含 JWT 的 DTO
-            return ResponseEntity.ok(jwt);
+            authService.logout(authHeader.substring(7));
+            return ResponseEntity.ok("Logged out");
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>("Logout failed: " + e.getMessage(), HttpStatus.BAD_REQUEST);
         } catch (RuntimeException e) {
-            return new ResponseEntity<>("Authentication failed: " + e.getMessage(), HttpStatus.UNAUTHORIZED);
+            return new ResponseEntity<>("Logout failed: " + e.getMessage(), HttpStatus.UNAUTHORIZED);
+        }
+    }
+
+    private ResponseEntity<String> failure(Throwable e, String prefix, HttpStatus status) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (cause instanceof RejectedExecutionException) {
+            // 哈希线程池已满：快速失败，让客户端稍后重试
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header("Retry-After", "1")
+                    .body("Server busy, please retry");
         }
+        return new ResponseEntity<>(prefix + cause.getMessage(), status);
     }
-}
\ No newline at end of file
+}
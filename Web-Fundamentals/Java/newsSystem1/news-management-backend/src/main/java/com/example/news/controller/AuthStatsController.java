@@ -0,0 +1,44 @@
+package com.example.news.controller;
+
+import com.example.news.security.AuthRateLimitFilter;
+import com.example.news.security.PasswordHashingExecutor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 认证负载统计接口（仅管理员）：密码哈希线程池的排队情况、哈希耗时和限流拒绝次数。
+ */
+@RestController
+@RequestMapping("/api/admin/auth")
+public class AuthStatsController {
+
+    @Autowired
+    private PasswordHashingExecutor hashingExecutor;
+
+    @Autowired
+    private AuthRateLimitFilter rateLimitFilter;
+
+    @GetMapping("/stats")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public Map<String, Object> getAuthStats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("hashingThreads", hashingExecutor.getPoolSize());
+        result.put("hashingActive", hashingExecutor.getActiveCount());
+        result.put("queueDepth", hashingExecutor.getQueueDepth());
+        result.put("queueCapacity", hashingExecutor.getQueueCapacity());
+        result.put("completed", hashingExecutor.getCompletedCount());
+        result.put("rejected", hashingExecutor.getRejectedCount());
+        result.put("hashes", hashingExecutor.getHashCount());
+        result.put("avgHashMillis", hashingExecutor.getAverageHashMillis());
+        result.put("maxHashMillis", hashingExecutor.getMaxHashMillis());
+        result.put("avgQueueWaitMillis", hashingExecutor.getAverageQueueWaitMillis());
+        result.put("rateLimited", rateLimitFilter.getRejectedCount());
+        return result;
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.news.controller;
+
+import com.example.news.cache.TwoLevelCacheManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 缓存统计接口（仅管理员）：用于根据真实命中率调整缓存大小和过期时间。
+ */
+@RestController
+@RequestMapping("/api/admin/cache")
+public class CacheController {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // 每个缓存的本地（L1）统计；启用两级缓存时另有 "l2" 条目汇总共享缓存的命中情况；
+    // Hibernate 二级缓存的各区域以 "hibernate:区域名" 列出，查询缓存汇总为 "hibernate:queries"
+    @GetMapping("/stats")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public Map<String, Map<String, Object>> getCacheStats() {
+        Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache == null || !(cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> l1)) {
+                continue;
+            }
+            CacheStats stats = l1.stats();
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("size", l1.estimatedSize());
+            entry.put("hits", stats.hitCount());
+            entry.put("misses", stats.missCount());
+            entry.put("hitRate", stats.hitRate());
+            entry.put("evictions", stats.evictionCount());
+            result.put(name, entry);
+        }
+        if (cacheManager instanceof TwoLevelCacheManager twoLevel) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("hits", twoLevel.getL2Hits());
+            entry.put("misses", twoLevel.getL2Misses());
+            entry.put("errors", twoLevel.getL2Errors());
+            result.put("l2", entry);
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics stats = statistics.getCacheRegionStatistics(region);
+            if (stats == null) {
+                continue;
+            }
+            // JCache 不提供条目数，Hibernate 返回负数
+            long size = Math.max(-1, stats.getElementCountInMemory());
+            result.put("hibernate:" + region, hitRatio(size, stats.getHitCount(),
+                    stats.getMissCount(), stats.getPutCount()));
+        }
+        if (statistics.isStatisticsEnabled() && statistics.getQueryCachePutCount()
+                + statistics.getQueryCacheHitCount() + statistics.getQueryCacheMissCount() > 0) {
+            result.put("hibernate:queries", hitRatio(-1, statistics.getQueryCacheHitCount(),
+                    statistics.getQueryCacheMissCount(), statistics.getQueryCachePutCount()));
+        }
+        return result;
+    }
+
+    // 需要 hibernate.generate_statistics=true，否则计数均为 0；size 为 -1 表示未知
+    private static Map<String, Object> hitRatio(long size, long hits, long misses, long puts) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("size", size);
+        entry.put("hits", hits);
+        entry.put("misses", misses);
+        entry.put("puts", puts);
+        entry.put("hitRate", hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+        return entry;
+    }
+}
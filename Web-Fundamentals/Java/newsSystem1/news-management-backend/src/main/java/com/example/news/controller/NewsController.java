@@ -2,15 +2,44 @@
 
 package com.example.news.controller;
 
+import com.example.news.dto.BulkResult;
+import com.example.news.dto.NewsPage;
+import com.example.news.dto.NewsVersion;
 import com.example.news.model.News;
+import com.example.news.service.NewsBulkService;
+import com.example.news.service.NewsEventStream;
+import com.example.news.service.NewsExportService;
+import com.example.news.service.NewsFormat;
+import com.example.news.service.NewsFrontPageSnapshot;
+import com.example.news.service.NewsReadCoalescer;
 import com.example.news.service.NewsService;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.util.unit.DataSize;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 @RestController
 @RequestMapping("/api/news")
@@ -19,18 +48,162 @@ public class NewsController {
     @Autowired
     private NewsService newsService;
 
-    // 所有用户（包括未登录）都可以查看新闻列表
+    @Autowired
+    private NewsExportService newsExportService;
+
+    @Autowired
+    private NewsBulkService newsBulkService;
+
+    @Autowired
+    private NewsEventStream newsEventStream;
+
+    @Autowired
+    private NewsFrontPageSnapshot frontPageSnapshot;
+
+    @Autowired
+    private NewsReadCoalescer newsReadCoalescer;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // 批量请求的条目数上限，与 NewsBulkService 一致
+    @Value("${app.news.bulk.max-items:1000}")
+    private int bulkMaxItems;
+
+    // NDJSON 批量请求体的字节数上限
+    @Value("${app.news.bulk.max-request-size:16MB}")
+    private DataSize bulkMaxRequestSize;
+
+    // 允许浏览器/CDN 缓存，但每次使用前必须用 ETag 重新验证
+    private static final CacheControl REVALIDATE = CacheControl.noCache();
+
+    // 所有用户（包括未登录）都可以查看新闻列表（最新的若干篇，只有元数据和摘要，不含正文）
     // 关键修复: 明确匹配 "/" 和 "" 两种路径，以消除 /api/news 和 /api/news/ 的差异
+    // 直接写出内存快照中预先序列化（并预先 gzip 压缩）的字节，不查询数据库；
+    // Accept 明确要求 application/cbor 或 application/x-jackson-smile 时返回对应的二进制表示；
+    // 支持 If-None-Match / If-Modified-Since，列表未变化时返回 304
     @GetMapping({ "", "/" })
-    public List<News> getAllNews() {
-        return newsService.getAllNews();
+    public ResponseEntity<byte[]> getAllNews(WebRequest request,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        NewsFrontPageSnapshot.Snapshot snapshot = frontPageSnapshot.current();
+        NewsFrontPageSnapshot.Variant variant = snapshot.variant(
+                NewsFormat.negotiate(accept, false), NewsFrontPageSnapshot.acceptsGzip(acceptEncoding));
+        long lastModified = snapshot.getLastModified();
+        if (request.checkNotModified(variant.getEtag(), lastModified)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(REVALIDATE)
+                    .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .cacheControl(REVALIDATE)
+                .eTag(variant.getEtag())
+                .lastModified(lastModified)
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                .contentType(variant.getContentType());
+        if (variant.getContentEncoding() != null) {
+            response.header(HttpHeaders.CONTENT_ENCODING, variant.getContentEncoding());
+        }
+        return response.body(variant.getBody());
+    }
+
+    // 键集分页的摘要列表，不返回正文；通过 nextCursor 继续翻页
+    @GetMapping("/page")
+    public ResponseEntity<NewsPage> getNewsPage(@RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(newsService.getNewsPage(cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // 全文检索：按相关度排序的摘要结果，带高亮片段，通过 nextCursor 继续翻页
+    @GetMapping("/search")
+    public ResponseEntity<NewsPage> searchNews(@RequestParam String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(newsService.searchNews(q, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (UnsupportedOperationException e) {
+            return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).build();
+        }
+    }
+
+    // 全量/增量导出：流式输出 NDJSON，供索引和归档任务使用；
+    // Accept 为 application/cbor-seq（或 application/cbor）/ application/x-jackson-smile 时输出二进制序列
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportNews(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        NewsFormat format = NewsFormat.negotiate(accept, true);
+        StreamingResponseBody body = out -> newsExportService.export(since, format, out);
+        return ResponseEntity.ok()
+                .contentType(format.getStreamMediaType())
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(body);
+    }
+
+    // 新闻变更推送（Server-Sent Events）：替代轮询列表，断线重连时通过 Last-Event-ID 补发错过的事件
+    // 不支持自定义请求头的客户端可以用 ?lastEventId= 传入
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamNews(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            @RequestParam(value = "lastEventId", required = false) String lastEventIdParam) {
+        try {
+            SseEmitter emitter = newsEventStream.subscribe(lastEventId != null ? lastEventId : lastEventIdParam);
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noStore())
+                    // 禁止反向代理（nginx）缓冲事件
+                    .header("X-Accel-Buffering", "no")
+                    .body(emitter);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
     }
 
+    // 先只查询版本号和修改时间，客户端缓存仍然有效时返回 304，不加载 content 正文；
+    // 否则分别读取（缓存的）元数据和压缩正文，只在这里解压。
+    // 同一篇新闻同时到达的请求由 NewsReadCoalescer 合并，共用一次加载和序列化的结果
     @GetMapping("/{id}")
-    public ResponseEntity<News> getNewsById(@PathVariable Long id) {
-        return newsService.getNewsById(id)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<byte[]> getNewsById(@PathVariable Long id, WebRequest request,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        NewsVersion newsVersion = newsService.getNewsVersion(id).orElse(null);
+        if (newsVersion == null) {
+            return ResponseEntity.notFound().build();
+        }
+        NewsFormat format = NewsFormat.negotiate(accept, false);
+        // 弱 ETag：Tomcat 不会压缩带强 ETag 的响应，而正文恰恰是最值得压缩的部分；
+        // JSON 保持原来的 ETag 形式，其它格式加上格式后缀
+        String etag = "W/\"" + newsVersion.getId() + "-" + newsVersion.getVersion()
+                + (format == NewsFormat.JSON ? "" : "-" + format.name().toLowerCase(Locale.ROOT)) + "\"";
+        long lastModified = toEpochMilli(newsVersion.getLastModified());
+        if (request.checkNotModified(etag, lastModified)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(REVALIDATE)
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .build();
+        }
+        byte[] body;
+        try {
+            body = newsReadCoalescer.render(id, newsVersion.getVersion(), format);
+        } catch (IllegalStateException | DataAccessException e) {
+            // 等待合并结果时被中断，或负责加载的请求访问数据库失败：可以重试
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        if (body == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(REVALIDATE)
+                .eTag(etag)
+                .lastModified(lastModified)
+                .varyBy(HttpHeaders.ACCEPT)
+                .contentType(format.getMediaType())
+                .body(body);
     }
 
     // 需要登录才能新增新闻
@@ -46,8 +219,72 @@ public class NewsController {
         return new ResponseEntity<>(createdNews, HttpStatus.CREATED);
     }
 
+    // 批量新增：请求体为 JSON 数组，整个请求在一个事务中批量插入，返回每个条目的结果
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<BulkResult> createNewsBulk(@RequestBody List<News> items,
+            org.springframework.security.core.Authentication authentication) {
+        return bulkCreate(items, authentication);
+    }
+
+    // 批量新增：请求体为 NDJSON（每行一篇新闻），适合导入管道流式推送；
+    // 超过条目数上限或 app.news.bulk.max-request-size 时立即停止读取并返回 413
+    @PostMapping(value = "/bulk", consumes = "application/x-ndjson")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<BulkResult> createNewsBulkNdjson(InputStream body,
+            @RequestHeader(value = HttpHeaders.CONTENT_LENGTH, required = false) Long contentLength,
+            org.springframework.security.core.Authentication authentication) {
+        long maxBytes = bulkMaxRequestSize.toBytes();
+        if (contentLength != null && contentLength > maxBytes) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+        List<News> items = new ArrayList<>();
+        try (MappingIterator<News> it = objectMapper.readerFor(News.class)
+                .readValues(new BoundedInputStream(body, maxBytes))) {
+            while (it.hasNextValue()) {
+                if (items.size() == bulkMaxItems) {
+                    return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+                }
+                items.add(it.nextValue());
+            }
+        } catch (RequestTooLargeException e) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        } catch (IOException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return bulkCreate(items, authentication);
+    }
+
+    // 批量修改：JSON 数组，每个条目需要 id，可选 version 用于乐观锁检查；
+    // 处理期间有条目被并发修改时整批回滚并返回 409，客户端可以重新提交
+    @PutMapping("/bulk")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<BulkResult> updateNewsBulk(@RequestBody List<News> items,
+            org.springframework.security.core.Authentication authentication) {
+        try {
+            return ResponseEntity.ok(newsBulkService.updateAll(items, authentication));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    // 批量删除：请求体为新闻 id 数组
+    @PostMapping("/bulk/delete")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<BulkResult> deleteNewsBulk(@RequestBody List<Long> ids,
+            org.springframework.security.core.Authentication authentication) {
+        try {
+            return ResponseEntity.ok(newsBulkService.deleteAll(ids, authentication));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     // 需要登录才能修改新闻
     // Updated: Now allows authenticated users (checked in service for ownership)
+    // 请求体可带 version：与当前版本不一致时返回 409，避免覆盖他人的修改
     @PutMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<News> updateNews(@PathVariable Long id, @RequestBody News newsDetails,
@@ -57,6 +294,9 @@ public class NewsController {
             return ResponseEntity.ok(updatedNews);
         } catch (org.springframework.security.access.AccessDeniedException e) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        } catch (OptimisticLockingFailureException e) {
+            // 请求中的 version 已过期：其他人先修改了这篇新闻
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
@@ -76,4 +316,58 @@ public class NewsController {
             return ResponseEntity.notFound().build();
         }
     }
-}
\ No newline at end of file
+
+    private ResponseEntity<BulkResult> bulkCreate(List<News> items,
+            org.springframework.security.core.Authentication authentication) {
+        try {
+            return ResponseEntity.ok(newsBulkService.createAll(items, authentication.getName()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    private static long toEpochMilli(LocalDateTime time) {
+        return time == null ? -1 : time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * 读取超过上限时抛出 RequestTooLargeException
+     */
+    private static final class BoundedInputStream extends FilterInputStream {
+
+        private long remaining;
+
+        BoundedInputStream(InputStream in, long maxBytes) {
+            super(in);
+            this.remaining = maxBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                consume(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                consume(n);
+            }
+            return n;
+        }
+
+        private void consume(int n) throws RequestTooLargeException {
+            remaining -= n;
+            if (remaining < 0) {
+                throw new RequestTooLargeException();
+            }
+        }
+    }
+
+    private static final class RequestTooLargeException extends IOException {
+    }
+}
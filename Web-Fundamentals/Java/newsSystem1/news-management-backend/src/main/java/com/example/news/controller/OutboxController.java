@@ -0,0 +1,33 @@
+package com.example.news.controller;
+
+import com.example.news.outbox.NewsOutboxRelay;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 发件箱投递状态接口（仅管理员）：用于观察事件积压和下游故障。
+ */
+@RestController
+@RequestMapping("/api/admin/outbox")
+public class OutboxController {
+
+    @Autowired
+    private NewsOutboxRelay relay;
+
+    @GetMapping("/stats")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public Map<String, Object> getOutboxStats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("delivered", relay.getDeliveredCount());
+        result.put("lastDeliveredSeq", relay.getLastDeliveredSeq());
+        result.put("lagMillis", relay.getLag().toMillis());
+        result.put("lastError", relay.getLastError());
+        return result;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.news.dto;
+
+/**
+ * 批量操作中单个条目的处理结果
+ */
+public class BulkItemResult {
+
+    public static final String CREATED = "CREATED";
+    public static final String UPDATED = "UPDATED";
+    public static final String DELETED = "DELETED";
+    public static final String INVALID = "INVALID";
+    public static final String NOT_FOUND = "NOT_FOUND";
+    public static final String FORBIDDEN = "FORBIDDEN";
+    public static final String CONFLICT = "CONFLICT";
+
+    // 条目在请求中的下标（从 0 开始）
+    private int index;
+    private Long id;
+    private String status;
+    private String message;
+
+    public BulkItemResult() {
+    }
+
+    public BulkItemResult(int index, Long id, String status, String message) {
+        this.index = index;
+        this.id = id;
+        this.status = status;
+        this.message = message;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.news.dto;
+
+import java.util.List;
+
+/**
+ * 批量操作结果：成功/失败条数以及每个条目的结果
+ */
+public class BulkResult {
+    private int succeeded;
+    private int failed;
+    private List<BulkItemResult> items;
+
+    public BulkResult() {
+    }
+
+    public BulkResult(List<BulkItemResult> items, int succeeded) {
+        this.items = items;
+        this.succeeded = succeeded;
+        this.failed = items.size() - succeeded;
+    }
+
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public void setSucceeded(int succeeded) {
+        this.succeeded = succeeded;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<BulkItemResult> getItems() {
+        return items;
+    }
+
+    public void setItems(List<BulkItemResult> items) {
+        this.items = items;
+    }
+}
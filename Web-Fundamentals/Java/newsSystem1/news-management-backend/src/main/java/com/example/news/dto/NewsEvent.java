@@ -0,0 +1,120 @@
+package com.example.news.dto;
+
+import com.example.news.model.News;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+
+/**
+ * 新闻变更事件：新增/修改/删除后发布，事务提交后推送给 /api/news/stream 的订阅者。
+ * 只包含列表展示需要的元数据，不包含正文；删除事件只有 id。
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class NewsEvent {
+
+    public static final String CREATED = "CREATED";
+    public static final String UPDATED = "UPDATED";
+    public static final String DELETED = "DELETED";
+
+    private String type;
+    private Long id;
+    private String title;
+    private String author;
+    private LocalDateTime publishDate;
+    private LocalDateTime updatedAt;
+    private String excerpt;
+    private Long version;
+
+    public NewsEvent() {
+    }
+
+    public NewsEvent(String type, News news) {
+        this.type = type;
+        this.id = news.getId();
+        this.title = news.getTitle();
+        this.author = news.getAuthor();
+        this.publishDate = news.getPublishDate();
+        this.updatedAt = news.getUpdatedAt();
+        this.excerpt = news.getExcerpt();
+        this.version = news.getVersion();
+    }
+
+    public static NewsEvent created(News news) {
+        return new NewsEvent(CREATED, news);
+    }
+
+    public static NewsEvent updated(News news) {
+        return new NewsEvent(UPDATED, news);
+    }
+
+    public static NewsEvent deleted(Long id) {
+        NewsEvent event = new NewsEvent();
+        event.type = DELETED;
+        event.id = id;
+        return event;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getAuthor() {
+        return author;
+    }
+
+    public void setAuthor(String author) {
+        this.author = author;
+    }
+
+    public LocalDateTime getPublishDate() {
+        return publishDate;
+    }
+
+    public void setPublishDate(LocalDateTime publishDate) {
+        this.publishDate = publishDate;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public String getExcerpt() {
+        return excerpt;
+    }
+
+    public void setExcerpt(String excerpt) {
+        this.excerpt = excerpt;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
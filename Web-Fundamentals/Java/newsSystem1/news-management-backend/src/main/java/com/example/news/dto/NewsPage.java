@@ -0,0 +1,36 @@
+package com.example.news.dto;
+
+import java.util.List;
+
+/**
+ * 游标分页结果：当前页的摘要列表，以及获取下一页所需的不透明游标。
+ * nextCursor 为 null 表示已经没有更多数据。
+ */
+public class NewsPage {
+    private List<NewsSummary> items;
+    private String nextCursor;
+
+    public NewsPage() {
+    }
+
+    public NewsPage(List<NewsSummary> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<NewsSummary> getItems() {
+        return items;
+    }
+
+    public void setItems(List<NewsSummary> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.news.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 全文检索命中结果：在摘要字段之外，附带高亮片段和相关度得分。
+ */
+public class NewsSearchHit extends NewsSummary {
+    // 命中词以 <mark></mark> 包裹的高亮片段
+    private String snippet;
+    private Float rank;
+
+    public NewsSearchHit() {
+    }
+
+    public NewsSearchHit(Long id, String title, String author, LocalDateTime publishDate, String excerpt,
+            String snippet, Float rank) {
+        super(id, title, author, publishDate, excerpt);
+        this.snippet = snippet;
+        this.rank = rank;
+    }
+
+    public String getSnippet() {
+        return snippet;
+    }
+
+    public void setSnippet(String snippet) {
+        this.snippet = snippet;
+    }
+
+    public Float getRank() {
+        return rank;
+    }
+
+    public void setRank(Float rank) {
+        this.rank = rank;
+    }
+}
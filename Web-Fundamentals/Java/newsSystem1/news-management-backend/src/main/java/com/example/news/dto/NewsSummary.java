@@ -0,0 +1,65 @@
+package com.example.news.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 新闻列表摘要投影：只包含列表展示需要的字段，不包含 content 正文。
+ */
+public class NewsSummary {
+    private Long id;
+    private String title;
+    private String author;
+    private LocalDateTime publishDate;
+    private String excerpt;
+
+    public NewsSummary() {
+    }
+
+    public NewsSummary(Long id, String title, String author, LocalDateTime publishDate, String excerpt) {
+        this.id = id;
+        this.title = title;
+        this.author = author;
+        this.publishDate = publishDate;
+        this.excerpt = excerpt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getAuthor() {
+        return author;
+    }
+
+    public void setAuthor(String author) {
+        this.author = author;
+    }
+
+    public LocalDateTime getPublishDate() {
+        return publishDate;
+    }
+
+    public void setPublishDate(LocalDateTime publishDate) {
+        this.publishDate = publishDate;
+    }
+
+    public String getExcerpt() {
+        return excerpt;
+    }
+
+    public void setExcerpt(String excerpt) {
+        this.excerpt = excerpt;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.news.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 单篇新闻的校验信息（版本号与最后修改时间），用于条件 GET，不包含正文。
+ */
+public class NewsVersion {
+    private Long id;
+    private Long version;
+    private LocalDateTime lastModified;
+
+    public NewsVersion() {
+    }
+
+    public NewsVersion(Long id, Long version, LocalDateTime lastModified) {
+        this.id = id;
+        this.version = version;
+        this.lastModified = lastModified;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public LocalDateTime getLastModified() {
+        return lastModified;
+    }
+
+    public void setLastModified(LocalDateTime lastModified) {
+        this.lastModified = lastModified;
+    }
+}
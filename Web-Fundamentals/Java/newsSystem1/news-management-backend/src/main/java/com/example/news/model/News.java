@@ -1,28 +1,98 @@
 package com.example.news.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import java.time.LocalDateTime;
 
 @Entity
+@Table(indexes = @Index(name = "idx_news_publish_date_id", columnList = "publish_date, id"))
+// Hibernate 二级缓存：只缓存元数据和摘要，正文在 NewsContent 中，不进入实体缓存
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "news")
 public class News {
+
+    // 列表摘要的最大长度
+    public static final int EXCERPT_LENGTH = 200;
+
+    // 使用序列 + pooled 优化器：一次取 50 个 id，插入时不必逐条回读主键，Hibernate 才能批量 INSERT
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "news_seq")
+    @SequenceGenerator(name = "news_seq", sequenceName = "news_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 255)
     private String title;
 
-    @Lob // 用于存储大文本内容
-    @Column(nullable = false)
+    // 正文以压缩形式单独存放在 NewsContent（news_content 表），加载新闻时不会读取。
+    // 这里只作为请求/响应中的正文载体：新增/修改时由客户端传入，读取详情时才填充。
+    @Transient
     private String content;
 
+    // 正文摘要，保存时由 content 生成，列表查询只读取该列而不触碰 content 大字段
+    @Column(length = EXCERPT_LENGTH)
+    private String excerpt;
+
     private String author;
 
+    // 分页游标由 (publishDate, id) 组成，不能为空
+    @Column(nullable = false)
     private LocalDateTime publishDate = LocalDateTime.now();
 
+    // 最后修改时间，用于 Last-Modified 响应头
+    private LocalDateTime updatedAt;
+
+    // 版本号，每次更新自增，用于生成 ETag
+    @Version
+    @Column(columnDefinition = "bigint default 0 not null")
+    private Long version;
+
     public News() {
     }
 
+    /**
+     * 返回带正文的副本，缓存中的元数据对象本身保持不变
+     */
+    public News withContent(String content) {
+        News copy = new News();
+        copy.id = id;
+        copy.title = title;
+        copy.content = content;
+        copy.excerpt = excerpt;
+        copy.author = author;
+        copy.publishDate = publishDate;
+        copy.updatedAt = updatedAt;
+        copy.version = version;
+        return copy;
+    }
+
+    /**
+     * 每次插入/更新前刷新修改时间；正文已加载（新增或修改了正文）时重新生成摘要；
+     * 客户端传入空的发布时间时使用当前时间
+     */
+    @PrePersist
+    @PreUpdate
+    void onSave() {
+        updatedAt = LocalDateTime.now();
+        if (publishDate == null) {
+            publishDate = updatedAt;
+        }
+        if (content != null) {
+            excerpt = excerptOf(content);
+        }
+    }
+
+    /**
+     * 由正文生成列表摘要（前 EXCERPT_LENGTH 个字符）
+     */
+    public static String excerptOf(String content) {
+        if (content == null || content.length() <= EXCERPT_LENGTH) {
+            return content;
+        }
+        return content.substring(0, EXCERPT_LENGTH);
+    }
+
     public Long getId() {
         return id;
     }
@@ -47,6 +117,14 @@ public class News {
         this.content = content;
     }
 
+    public String getExcerpt() {
+        return excerpt;
+    }
+
+    public void setExcerpt(String excerpt) {
+        this.excerpt = excerpt;
+    }
+
     public String getAuthor() {
         return author;
     }
@@ -62,4 +140,20 @@ public class News {
     public void setPublishDate(LocalDateTime publishDate) {
         this.publishDate = publishDate;
     }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,161 @@
+package com.example.news.model;
+
+import jakarta.persistence.*;
+import org.hibernate.Length;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * @NewsContent
+ *              新闻正文，与 News 共用主键单独存放在 news_content 表中，以压缩字节保存。
+ *              列表、权限检查和缓存只使用 News 元数据，需要正文时才按 id 读取并解压。
+ */
+@Entity
+@Table(name = "news_content")
+public class NewsContent {
+
+    // 编码方式（data 的第一个字节）：原始 UTF-8 / Deflate 压缩
+    private static final byte RAW = 0;
+    private static final byte DEFLATE = 1;
+
+    // 短正文压缩收益很小，直接保存原文
+    private static final int MIN_COMPRESS_LENGTH = 256;
+
+    @Id
+    private Long newsId;
+
+    // 单向关联到 News，主键即 news_id；删除新闻时由数据库级联删除正文
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "news_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private News news;
+
+    @Column(nullable = false, length = Length.LONG32)
+    private byte[] data;
+
+    public NewsContent() {
+    }
+
+    public NewsContent(News news, String text) {
+        this.news = news;
+        this.data = compress(text);
+    }
+
+    /**
+     * 压缩正文：超过阈值且压缩后更小时使用 Deflate，否则保存原始 UTF-8。
+     * Deflate 格式为 [1][原文字节数(4 字节)][压缩数据]，解压时可一次分配好缓冲区。
+     *
+     * @return 编码后的字节，text 为 null 时返回 null
+     */
+    public static byte[] compress(String text) {
+        if (text == null) {
+            return null;
+        }
+        byte[] raw = text.getBytes(StandardCharsets.UTF_8);
+        if (raw.length >= MIN_COMPRESS_LENGTH) {
+            Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+            try {
+                deflater.setInput(raw);
+                deflater.finish();
+                ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2 + 16);
+                out.write(DEFLATE);
+                out.writeBytes(ByteBuffer.allocate(4).putInt(raw.length).array());
+                byte[] buffer = new byte[8192];
+                while (!deflater.finished()) {
+                    out.write(buffer, 0, deflater.deflate(buffer));
+                }
+                if (out.size() < raw.length + 1) {
+                    return out.toByteArray();
+                }
+            } finally {
+                deflater.end();
+            }
+        }
+        byte[] data = new byte[raw.length + 1];
+        data[0] = RAW;
+        System.arraycopy(raw, 0, data, 1, raw.length);
+        return data;
+    }
+
+    /**
+     * 解压 compress 生成的字节
+     *
+     * @return 正文，data 为 null 时返回 null
+     * @throws IllegalStateException 如果数据已损坏
+     */
+    public static String decompress(byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        if (data.length == 0 || data[0] == RAW) {
+            return new String(data, Math.min(1, data.length), Math.max(0, data.length - 1), StandardCharsets.UTF_8);
+        }
+        if (data[0] != DEFLATE || data.length < 5) {
+            throw new IllegalStateException("Unknown news content encoding: " + data[0]);
+        }
+        byte[] raw = new byte[ByteBuffer.wrap(data, 1, 4).getInt()];
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(data, 5, data.length - 5);
+            int length = 0;
+            while (length < raw.length) {
+                int n = inflater.inflate(raw, length, raw.length - length);
+                if (n == 0 && (inflater.finished() || inflater.needsInput())) {
+                    break;
+                }
+                length += n;
+            }
+            if (length != raw.length) {
+                throw new IllegalStateException("Truncated news content: " + length + " of " + raw.length + " bytes");
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupted news content", e);
+        } finally {
+            inflater.end();
+        }
+        return new String(raw, StandardCharsets.UTF_8);
+    }
+
+    public Long getNewsId() {
+        return newsId;
+    }
+
+    public void setNewsId(Long newsId) {
+        this.newsId = newsId;
+    }
+
+    public News getNews() {
+        return news;
+    }
+
+    public void setNews(News news) {
+        this.news = news;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+
+    public void setData(byte[] data) {
+        this.data = data;
+    }
+
+    /**
+     * 解压后的正文
+     */
+    public String getText() {
+        return decompress(data);
+    }
+
+    public void setText(String text) {
+        this.data = compress(text);
+    }
+}
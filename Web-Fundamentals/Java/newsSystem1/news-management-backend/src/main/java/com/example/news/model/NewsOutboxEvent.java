@@ -0,0 +1,85 @@
+package com.example.news.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * @NewsOutboxEvent
+ *                  事务性发件箱：与新闻的新增/修改/删除在同一事务中写入，
+ *                  由后台 relay 分批读取并投递给下游（SSE 推送、文件、消息代理等），投递成功后删除。
+ *                  id 来自序列，只保证唯一，作为下游去重用的 seq：不连续，也不代表提交或投递顺序
+ *                  （先取得 id 的事务可能晚提交），下游应记录处理过的 seq 集合，而不是只保留最大值。
+ */
+@Entity
+@Table(name = "news_outbox")
+public class NewsOutboxEvent {
+
+    // 每条记录单独取号，不按实例预分配号段
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "news_outbox_seq")
+    @SequenceGenerator(name = "news_outbox_seq", sequenceName = "news_outbox_seq", allocationSize = 1)
+    private Long id;
+
+    // 事件类型：CREATED / UPDATED / DELETED
+    @Column(nullable = false, length = 16)
+    private String type;
+
+    @Column(nullable = false)
+    private Long newsId;
+
+    // 事件内容（NewsEvent 的 JSON）
+    @Column(nullable = false, length = 4000)
+    private String payload;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    public NewsOutboxEvent() {
+    }
+
+    public NewsOutboxEvent(String type, Long newsId, String payload) {
+        this.type = type;
+        this.newsId = newsId;
+        this.payload = payload;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Long getNewsId() {
+        return newsId;
+    }
+
+    public void setNewsId(Long newsId) {
+        this.newsId = newsId;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -2,6 +2,10 @@ package com.example.news.model;
 
 import com.example.news.security.Role;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -16,14 +20,19 @@ import java.util.List;
  */
 @Entity
 @Table(name = "users") // 约定俗成，表名使用复数
+// Hibernate 二级缓存：按 id 缓存实体，另按用户名（自然键）缓存 用户名 -> id 的映射
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@NaturalIdCache(region = "usersByNaturalId")
 public class User implements UserDetails { // <-- 关键修复：实现 UserDetails 接口
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    // 用户名，必须唯一且非空
-    @Column(unique = true, nullable = false)
+    // 用户名，必须唯一且非空；作为自然键（自然键自带唯一约束），UserRepository.findByUsername 按自然键加载
+    @NaturalId
+    @Column(nullable = false)
     private String username;
 
     // 密码字段
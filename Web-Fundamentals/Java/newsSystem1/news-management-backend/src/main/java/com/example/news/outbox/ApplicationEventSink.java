@@ -0,0 +1,47 @@
+package com.example.news.outbox;
+
+import com.example.news.dto.NewsEvent;
+import com.example.news.model.NewsOutboxEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 进程内下游：把事件作为 Spring 应用事件发布（例如 NewsEventStream 的 SSE 推送）。
+ * <p>
+ * 每条记录只由一个实例的 relay 投递，启用 Redis 两级缓存时由 NewsEventBroadcaster 转发给其它实例；
+ * 未启用时只有投递它的实例收到事件，多实例部署下其它实例的 SSE 订阅者会错过变更，只适合单实例。
+ */
+@Component
+public class ApplicationEventSink implements NewsEventSink {
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<NewsEventBroadcaster> broadcaster;
+
+    public ApplicationEventSink(ApplicationEventPublisher eventPublisher, ObjectMapper objectMapper,
+            ObjectProvider<NewsEventBroadcaster> broadcaster) {
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.broadcaster = broadcaster;
+    }
+
+    @Override
+    public String name() {
+        return "application";
+    }
+
+    @Override
+    public void deliver(List<NewsOutboxEvent> batch) throws Exception {
+        NewsEventBroadcaster others = broadcaster.getIfAvailable();
+        for (NewsOutboxEvent event : batch) {
+            eventPublisher.publishEvent(objectMapper.readValue(event.getPayload(), NewsEvent.class));
+            if (others != null) {
+                others.broadcast(event.getPayload());
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.news.outbox;
+
+import com.example.news.model.NewsOutboxEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * 文件下游：每批事件以 NDJSON 追加写入 app.outbox.file.path，写完后 fsync 再确认
+ */
+@Component
+public class FileEventSink implements NewsEventSink {
+
+    private final Path path;
+
+    public FileEventSink(@Value("${app.outbox.file.path:news-events.ndjson}") Path path) {
+        this.path = path;
+    }
+
+    @Override
+    public String name() {
+        return "file";
+    }
+
+    @Override
+    public void deliver(List<NewsOutboxEvent> batch) throws Exception {
+        StringBuilder lines = new StringBuilder(batch.size() * 256);
+        for (NewsOutboxEvent event : batch) {
+            lines.append(NewsEventSink.toJsonLine(event));
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.news.outbox;
+
+import com.example.news.model.NewsOutboxEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * HTTP 下游：每批事件以一个 NDJSON 请求 POST 到 app.outbox.http.url
+ * （消息代理的 HTTP 网关、本地替身服务或采集器），非 2xx 响应视为失败并整批重试
+ */
+@Component
+public class HttpEventSink implements NewsEventSink {
+
+    private final URI url;
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    public HttpEventSink(@Value("${app.outbox.http.url:http://localhost:9090/news-events}") URI url) {
+        this.url = url;
+    }
+
+    @Override
+    public String name() {
+        return "http";
+    }
+
+    @Override
+    public void deliver(List<NewsOutboxEvent> batch) throws Exception {
+        StringBuilder body = new StringBuilder(batch.size() * 256);
+        for (NewsOutboxEvent event : batch) {
+            body.append(NewsEventSink.toJsonLine(event));
+        }
+        HttpRequest request = HttpRequest.newBuilder(url)
+                .timeout(Duration.ofSeconds(10))
+                .header("Content-Type", "application/x-ndjson")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("News event sink " + url + " responded " + response.statusCode());
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.news.outbox;
+
+import com.example.news.dto.NewsEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * 多实例部署时把进程内事件广播到所有实例。
+ * <p>
+ * 发件箱的每条记录只会被一个实例的 relay 取到（SKIP LOCKED），ApplicationEventSink 在本实例发布后，
+ * 再通过 Redis 频道 app.outbox.broadcast-channel 转发，其它实例收到后在各自进程内发布同一个 NewsEvent
+ * （SSE 推送、首页快照重建等）。消息为 "实例 id\nNewsEvent 的 JSON"，实例忽略自己发出的消息。
+ * 只在启用 Redis 两级缓存（app.cache.l2.enabled=true）时存在，复用其消息监听容器。
+ */
+@Component
+@ConditionalOnProperty(name = "app.cache.l2.enabled", havingValue = "true")
+public class NewsEventBroadcaster implements MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(NewsEventBroadcaster.class);
+
+    private final StringRedisTemplate redis;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final String channel;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public NewsEventBroadcaster(StringRedisTemplate redis, ApplicationEventPublisher eventPublisher,
+            ObjectMapper objectMapper, RedisMessageListenerContainer listenerContainer,
+            @Value("${app.outbox.broadcast-channel:news:events}") String channel) {
+        this.redis = redis;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.channel = channel;
+        listenerContainer.addMessageListener(this, new ChannelTopic(channel));
+    }
+
+    /**
+     * 转发给其它实例。Redis 不可用时只记录日志：不阻塞其它下游的投递，
+     * 其它实例的首页快照靠定时刷新兜底，SSE 订阅者会错过这条事件
+     */
+    public void broadcast(String payload) {
+        try {
+            redis.convertAndSend(channel, nodeId + "\n" + payload);
+        } catch (RuntimeException e) {
+            log.warn("Broadcasting news event to other instances failed", e);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\n", 2);
+        if (parts.length < 2 || parts[0].equals(nodeId)) {
+            return;
+        }
+        try {
+            eventPublisher.publishEvent(objectMapper.readValue(parts[1], NewsEvent.class));
+        } catch (Exception e) {
+            log.warn("Ignoring malformed news event broadcast", e);
+        }
+    }
+}
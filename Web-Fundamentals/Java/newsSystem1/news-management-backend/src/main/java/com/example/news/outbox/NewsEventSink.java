@@ -0,0 +1,33 @@
+package com.example.news.outbox;
+
+import com.example.news.model.NewsOutboxEvent;
+
+import java.util.List;
+
+/**
+ * 发件箱事件的下游。实现类注册为 Spring Bean，通过 app.outbox.sinks 按名称启用。
+ */
+public interface NewsEventSink {
+
+    /**
+     * 名称，对应 app.outbox.sinks 中的配置
+     */
+    String name();
+
+    /**
+     * 投递一批事件（按 seq 排序，但 seq 不代表提交顺序，多实例时不同批次可能并行投递）。
+     * 抛出异常时整批会在稍后重试，因此同一事件可能被投递多次（至少一次），下游应按 seq 去重。
+     */
+    void deliver(List<NewsOutboxEvent> batch) throws Exception;
+
+    /**
+     * 外部下游使用的 NDJSON 行：{"seq":..,"type":..,"newsId":..,"createdAt":..,"event":{...}}
+     */
+    static String toJsonLine(NewsOutboxEvent event) {
+        return "{\"seq\":" + event.getId()
+                + ",\"type\":\"" + event.getType() + "\""
+                + ",\"newsId\":" + event.getNewsId()
+                + ",\"createdAt\":\"" + event.getCreatedAt() + "\""
+                + ",\"event\":" + event.getPayload() + "}\n";
+    }
+}
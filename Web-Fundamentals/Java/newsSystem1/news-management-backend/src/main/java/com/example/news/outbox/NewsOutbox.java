@@ -0,0 +1,62 @@
+package com.example.news.outbox;
+
+import com.example.news.dto.NewsEvent;
+import com.example.news.model.NewsOutboxEvent;
+import com.example.news.repository.NewsOutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 事务性发件箱：变更事件与新闻数据写在同一个事务里，提交即保证事件不丢，回滚则事件一并消失。
+ * 真正的投递由 NewsOutboxRelay 在提交之后完成。
+ */
+@Component
+public class NewsOutbox {
+
+    private final NewsOutboxRepository outboxRepository;
+    private final NewsOutboxRelay relay;
+    private final ObjectMapper objectMapper;
+
+    public NewsOutbox(NewsOutboxRepository outboxRepository, NewsOutboxRelay relay, ObjectMapper objectMapper) {
+        this.outboxRepository = outboxRepository;
+        this.relay = relay;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 记录一条事件，必须在写新闻的事务内调用
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(NewsEvent event) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize news event", e);
+        }
+        outboxRepository.save(new NewsOutboxEvent(event.getType(), event.getId(), payload));
+        wakeRelayAfterCommit();
+    }
+
+    private void wakeRelayAfterCommit() {
+        // 每个事务只注册一次，批量写入时不会产生上千个回调
+        if (TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(NewsOutbox.this);
+                if (status == STATUS_COMMITTED) {
+                    relay.wakeUp();
+                }
+            }
+        });
+    }
+}
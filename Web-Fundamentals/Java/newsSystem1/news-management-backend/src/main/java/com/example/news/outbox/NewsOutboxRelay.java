@@ -0,0 +1,167 @@
+package com.example.news.outbox;
+
+import com.example.news.model.NewsOutboxEvent;
+import com.example.news.repository.NewsOutboxRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 发件箱投递器：单线程按 seq 取出 news_outbox 中已提交的事件，依次交给启用的下游，
+ * 全部成功后在同一事务里删除这批记录。
+ * <p>
+ * 写事务提交后会立即唤醒一次，另有定时轮询兜底（进程重启、其它实例写入的记录）。
+ * 任一下游失败则整批回滚、指数退避后重试，因此投递语义是至少一次，下游按 seq 去重。
+ */
+@Component
+public class NewsOutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(NewsOutboxRelay.class);
+
+    private final NewsOutboxRepository outboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final List<NewsEventSink> sinks;
+    private final int batchSize;
+    private final long pollIntervalMillis;
+    private final long maxBackoffMillis;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "news-outbox-relay");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean wakeUpPending = new AtomicBoolean();
+    private final AtomicLong deliveredCount = new AtomicLong();
+    private volatile long lastDeliveredSeq;
+    private volatile String lastError;
+
+    // 仅由投递线程读写
+    private int consecutiveFailures;
+    private long retryAtNanos;
+
+    public NewsOutboxRelay(NewsOutboxRepository outboxRepository,
+                           PlatformTransactionManager transactionManager,
+                           List<NewsEventSink> availableSinks,
+                           @Value("${app.outbox.sinks:application}") List<String> sinkNames,
+                           @Value("${app.outbox.batch-size:500}") int batchSize,
+                           @Value("${app.outbox.poll-interval:1s}") Duration pollInterval,
+                           @Value("${app.outbox.max-backoff:30s}") Duration maxBackoff) {
+        this.outboxRepository = outboxRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sinks = new ArrayList<>();
+        for (String name : sinkNames) {
+            NewsEventSink sink = availableSinks.stream()
+                    .filter(s -> s.name().equals(name.trim()))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown app.outbox.sinks entry: " + name));
+            this.sinks.add(sink);
+        }
+        this.batchSize = batchSize;
+        this.pollIntervalMillis = pollInterval.toMillis();
+        this.maxBackoffMillis = maxBackoff.toMillis();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        executor.scheduleWithFixedDelay(this::drain, 0, pollIntervalMillis, TimeUnit.MILLISECONDS);
+        log.info("News outbox relay started, sinks: {}", sinks.stream().map(NewsEventSink::name).toList());
+    }
+
+    /**
+     * 写事务提交后调用：尽快投递，而不是等下一次轮询。多次唤醒会合并为一次。
+     */
+    public void wakeUp() {
+        if (wakeUpPending.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // 正在关闭
+            }
+        }
+    }
+
+    private void drain() {
+        wakeUpPending.set(false);
+        if (consecutiveFailures > 0 && System.nanoTime() < retryAtNanos) {
+            return;
+        }
+        try {
+            Integer relayed;
+            do {
+                relayed = transactionTemplate.execute(status -> relayBatch());
+            } while (relayed != null && relayed == batchSize);
+            consecutiveFailures = 0;
+            lastError = null;
+        } catch (RuntimeException e) {
+            consecutiveFailures++;
+            long backoff = Math.min(maxBackoffMillis,
+                    pollIntervalMillis << Math.min(consecutiveFailures, 16));
+            retryAtNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoff);
+            lastError = e.getMessage();
+            log.warn("News outbox relay failed ({} in a row), retrying in {} ms", consecutiveFailures, backoff, e);
+        }
+    }
+
+    private int relayBatch() {
+        List<NewsOutboxEvent> batch = outboxRepository.lockNextBatch(Limit.of(batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        for (NewsEventSink sink : sinks) {
+            try {
+                sink.deliver(batch);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new RuntimeException("Sink '" + sink.name() + "' failed: " + e.getMessage(), e);
+            }
+        }
+        outboxRepository.deleteAllByIdInBatch(batch.stream().map(NewsOutboxEvent::getId).toList());
+        deliveredCount.addAndGet(batch.size());
+        lastDeliveredSeq = batch.get(batch.size() - 1).getId();
+        return batch.size();
+    }
+
+    public long getDeliveredCount() {
+        return deliveredCount.get();
+    }
+
+    public long getLastDeliveredSeq() {
+        return lastDeliveredSeq;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    /**
+     * 最早一条待投递事件已等待的时间，没有积压时为 0
+     */
+    public Duration getLag() {
+        LocalDateTime oldest = outboxRepository.findOldestCreatedAt();
+        return oldest == null ? Duration.ZERO : Duration.between(oldest, LocalDateTime.now());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
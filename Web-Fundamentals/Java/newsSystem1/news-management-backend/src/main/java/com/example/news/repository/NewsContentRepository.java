@@ -0,0 +1,27 @@
+package com.example.news.repository;
+
+import com.example.news.model.NewsContent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface NewsContentRepository extends JpaRepository<NewsContent, Long> {
+
+    /**
+     * 只读取压缩后的正文字节，不加载实体
+     */
+    @Query("select c.data from NewsContent c where c.newsId = :id")
+    Optional<byte[]> findDataById(@Param("id") Long id);
+
+    /**
+     * 直接覆盖压缩后的正文，不先读取旧值
+     *
+     * @return 受影响的行数，0 表示正文行不存在
+     */
+    @Modifying
+    @Query("update NewsContent c set c.data = :data where c.newsId = :id")
+    int updateData(@Param("id") Long id, @Param("data") byte[] data);
+}
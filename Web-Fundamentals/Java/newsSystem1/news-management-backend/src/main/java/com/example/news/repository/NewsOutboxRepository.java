@@ -0,0 +1,31 @@
+package com.example.news.repository;
+
+import com.example.news.model.NewsOutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface NewsOutboxRepository extends JpaRepository<NewsOutboxEvent, Long> {
+
+    /**
+     * 按 seq 锁定下一批待投递的记录（seq 只保证唯一，不代表提交顺序）。SKIP LOCKED（lock.timeout = -2）使多个实例的 relay
+     * 不会互相等待或重复读取同一批（不支持的数据库上退化为普通 FOR UPDATE）。
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select e from NewsOutboxEvent e order by e.id")
+    List<NewsOutboxEvent> lockNextBatch(Limit limit);
+
+    /**
+     * 最早一条待投递记录的写入时间，用于观察投递延迟
+     */
+    @Query("select min(e.createdAt) from NewsOutboxEvent e")
+    LocalDateTime findOldestCreatedAt();
+}
@@ -1,8 +1,155 @@
 package com.example.news.repository;
 
+import com.example.news.dto.NewsSummary;
+import com.example.news.dto.NewsVersion;
 import com.example.news.model.News;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface NewsRepository extends JpaRepository<News, Long> {
+import jakarta.persistence.QueryHint;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_MODE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+public interface NewsRepository extends JpaRepository<News, Long>, NewsRepositoryCustom {
     // 基础的 CRUD 方法由 JpaRepository 提供
-}
\ No newline at end of file
+
+    /**
+     * 游标分页第一页：按 (publishDate, id) 倒序，只查询摘要字段（进入 Hibernate 查询缓存）
+     */
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query("select new com.example.news.dto.NewsSummary(n.id, n.title, n.author, n.publishDate, n.excerpt) "
+            + "from News n order by n.publishDate desc, n.id desc")
+    List<NewsSummary> findLatestSummaries(Limit limit);
+
+    /**
+     * 游标分页后续页：从上一页最后一条 (publishDate, id) 之后继续读取（进入 Hibernate 查询缓存）
+     */
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query("select new com.example.news.dto.NewsSummary(n.id, n.title, n.author, n.publishDate, n.excerpt) "
+            + "from News n "
+            + "where n.publishDate < :publishDate or (n.publishDate = :publishDate and n.id < :id) "
+            + "order by n.publishDate desc, n.id desc")
+    List<NewsSummary> findSummariesBefore(@Param("publishDate") LocalDateTime publishDate,
+            @Param("id") Long id, Limit limit);
+
+    /**
+     * 以服务端游标流式读取全部新闻及其压缩正文，每行为 [News, byte[]]
+     * （需在事务内消费，用完必须关闭 Stream）。
+     * CACHE_MODE=IGNORE：导出的实体不写入二级缓存，避免一次导出把 news 区域的热点数据全部挤出
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false"),
+            @QueryHint(name = HINT_CACHE_MODE, value = "IGNORE") })
+    @Query("select n, c.data from News n left join NewsContent c on c.newsId = n.id order by n.id")
+    Stream<Object[]> streamAllWithContent();
+
+    /**
+     * 增量导出：只读取最后修改时间 coalesce(updatedAt, publishDate) 不早于 since 的新闻，每行为 [News, byte[]]。
+     * 按 (修改时间, id) 排序，调用方可以用最后一行的修改时间作为下一次的 since
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false"),
+            @QueryHint(name = HINT_CACHE_MODE, value = "IGNORE") })
+    @Query("select n, c.data from News n left join NewsContent c on c.newsId = n.id "
+            + "where coalesce(n.updatedAt, n.publishDate) >= :since "
+            + "order by coalesce(n.updatedAt, n.publishDate), n.id")
+    Stream<Object[]> streamSinceWithContent(@Param("since") LocalDateTime since);
+
+    /**
+     * 只读取单篇新闻的版本号和修改时间，用于条件 GET
+     */
+    @Query("select new com.example.news.dto.NewsVersion(n.id, n.version, coalesce(n.updatedAt, n.publishDate)) "
+            + "from News n where n.id = :id")
+    Optional<NewsVersion> findVersionById(@Param("id") Long id);
+
+    /**
+     * 首页快照：最新的若干篇新闻（元数据和摘要，不含正文），按 (publishDate, id) 倒序。
+     * 查询缓存只保存 id，实体从二级缓存读取；列表没有变化时定时重建快照不访问数据库
+     */
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query("select n from News n order by n.publishDate desc, n.id desc")
+    List<News> findLatest(Limit limit);
+
+    /**
+     * 全文检索第一页：GIN 索引匹配，按相关度倒序，高亮片段只基于 excerpt 生成，不读取 content
+     */
+    @Query(value = "select n.id as \"id\", n.title as \"title\", n.author as \"author\", "
+            + "n.publish_date as \"publishDate\", n.excerpt as \"excerpt\", "
+            + "ts_headline('simple', coalesce(n.excerpt, ''), q.query, "
+            + "'StartSel=<mark>, StopSel=</mark>, MaxWords=35, MinWords=15') as \"snippet\", "
+            + "ts_rank(n.search_vector, q.query) as \"rank\" "
+            + "from news n, websearch_to_tsquery('simple', :q) as q(query) "
+            + "where n.search_vector @@ q.query "
+            + "order by 7 desc, n.id desc limit :limit", nativeQuery = true)
+    List<NewsSearchRow> search(@Param("q") String q, @Param("limit") int limit);
+
+    /**
+     * 全文检索后续页：从上一页最后一条 (rank, id) 之后继续读取
+     */
+    @Query(value = "select n.id as \"id\", n.title as \"title\", n.author as \"author\", "
+            + "n.publish_date as \"publishDate\", n.excerpt as \"excerpt\", "
+            + "ts_headline('simple', coalesce(n.excerpt, ''), q.query, "
+            + "'StartSel=<mark>, StopSel=</mark>, MaxWords=35, MinWords=15') as \"snippet\", "
+            + "ts_rank(n.search_vector, q.query) as \"rank\" "
+            + "from news n, websearch_to_tsquery('simple', :q) as q(query) "
+            + "where n.search_vector @@ q.query "
+            + "and (ts_rank(n.search_vector, q.query) < :rank "
+            + "or (ts_rank(n.search_vector, q.query) = :rank and n.id < :id)) "
+            + "order by 7 desc, n.id desc limit :limit", nativeQuery = true)
+    List<NewsSearchRow> searchAfter(@Param("q") String q, @Param("rank") Float rank, @Param("id") Long id,
+            @Param("limit") int limit);
+
+    /**
+     * 条件更新：权限检查（管理员或作者本人）、乐观锁版本检查和修改在同一条 UPDATE 中完成。
+     * expectedVersion 为 null 时不检查版本；每次成功更新版本号加一。
+     *
+     * @return 受影响的行数，0 表示新闻不存在、无权限或版本不一致
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update News n set n.title = :title, n.excerpt = :excerpt, n.updatedAt = :updatedAt, "
+            + "n.version = n.version + 1 "
+            + "where n.id = :id and (:admin = true or n.author = :username) "
+            + "and (:expectedVersion is null or n.version = :expectedVersion)")
+    int updateIfPermitted(@Param("id") Long id, @Param("title") String title, @Param("excerpt") String excerpt,
+            @Param("updatedAt") LocalDateTime updatedAt, @Param("expectedVersion") Long expectedVersion,
+            @Param("username") String username, @Param("admin") boolean admin);
+
+    /**
+     * 条件删除：权限检查和删除在同一条 DELETE 中完成，正文由数据库级联删除
+     *
+     * @return 受影响的行数，0 表示新闻不存在或无权限
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("delete from News n where n.id = :id and (:admin = true or n.author = :username)")
+    int deleteIfPermitted(@Param("id") Long id, @Param("username") String username, @Param("admin") boolean admin);
+
+    /**
+     * 写入时用内存中的标题和正文刷新检索向量，标题权重高于正文。
+     * 未声明影响范围的原生 UPDATE 会让 Hibernate 清空全部二级缓存和查询缓存；
+     * search_vector 不属于任何实体映射，声明一个独立的查询空间，不影响已缓存的实体和列表
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "news_search_vector"))
+    @Query(value = "update news set search_vector = "
+            + "setweight(to_tsvector('simple', coalesce(:title, '')), 'A') || "
+            + "setweight(to_tsvector('simple', coalesce(:content, '')), 'B') "
+            + "where id = :id", nativeQuery = true)
+    int updateSearchVector(@Param("id") Long id, @Param("title") String title, @Param("content") String content);
+}
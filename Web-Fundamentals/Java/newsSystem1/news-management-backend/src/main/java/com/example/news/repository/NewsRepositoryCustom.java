@@ -0,0 +1,16 @@
+package com.example.news.repository;
+
+import com.example.news.model.News;
+
+import java.util.List;
+
+/**
+ * NewsRepository 的自定义扩展：需要直接使用 JDBC 批处理的操作
+ */
+public interface NewsRepositoryCustom {
+
+    /**
+     * 以一次 JDBC 批处理刷新多篇新闻的检索向量（调用前需先 flush，确保行已插入）
+     */
+    void batchUpdateSearchVectors(List<News> news);
+}
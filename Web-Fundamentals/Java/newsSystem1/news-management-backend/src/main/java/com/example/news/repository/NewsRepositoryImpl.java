@@ -0,0 +1,34 @@
+package com.example.news.repository;
+
+import com.example.news.model.News;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * NewsRepositoryCustom 的实现，由 Spring Data 按命名约定自动组合进 NewsRepository。
+ * JdbcTemplate 与 JPA 共用当前事务中的数据库连接。
+ */
+public class NewsRepositoryImpl implements NewsRepositoryCustom {
+
+    private static final String UPDATE_SEARCH_VECTOR = "update news set search_vector = "
+            + "setweight(to_tsvector('simple', coalesce(?, '')), 'A') || "
+            + "setweight(to_tsvector('simple', coalesce(?, '')), 'B') "
+            + "where id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public NewsRepositoryImpl(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public void batchUpdateSearchVectors(List<News> news) {
+        jdbcTemplate.batchUpdate(UPDATE_SEARCH_VECTOR, news, news.size(), (ps, item) -> {
+            ps.setString(1, item.getTitle());
+            ps.setString(2, item.getContent());
+            ps.setLong(3, item.getId());
+        });
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.news.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * 全文检索原生查询的结果行（接口投影）
+ */
+public interface NewsSearchRow {
+    Long getId();
+
+    String getTitle();
+
+    String getAuthor();
+
+    LocalDateTime getPublishDate();
+
+    String getExcerpt();
+
+    String getSnippet();
+
+    Float getRank();
+}
@@ -2,9 +2,8 @@ package com.example.news.repository;
 
 import com.example.news.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
-import java.util.Optional;
 
-public interface UserRepository extends JpaRepository<User, Long> {
-    Optional<User> findByUsername(String username);
+// findByUsername 见 UserRepositoryCustom（按自然键加载）
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
     boolean existsByUsername(String username);
 }
\ No newline at end of file
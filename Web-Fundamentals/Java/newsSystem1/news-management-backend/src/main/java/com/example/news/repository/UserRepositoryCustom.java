@@ -0,0 +1,16 @@
+package com.example.news.repository;
+
+import com.example.news.model.User;
+
+import java.util.Optional;
+
+/**
+ * UserRepository 的自定义扩展：按自然键加载，可以命中 Hibernate 二级缓存
+ */
+public interface UserRepositoryCustom {
+
+    /**
+     * 按用户名（自然键）加载用户。启用二级缓存时先查 用户名 -> id 的自然键缓存和实体缓存，都命中时不访问数据库
+     */
+    Optional<User> findByUsername(String username);
+}
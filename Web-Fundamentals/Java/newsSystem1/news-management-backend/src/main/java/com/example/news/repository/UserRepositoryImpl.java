@@ -0,0 +1,28 @@
+package com.example.news.repository;
+
+import com.example.news.model.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * UserRepositoryCustom 的实现，由 Spring Data 按命名约定自动组合进 UserRepository，
+ * 优先于按方法名派生的查询（派生查询是 JPQL，不会使用自然键缓存）。
+ */
+public class UserRepositoryImpl implements UserRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    public UserRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    // 与派生查询一样在只读事务中执行（启用读写分离时走副本）；事务外 unwrap 得到的 Session 会立即关闭
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findByUsername(String username) {
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(User.class).loadOptional(username);
+    }
+}
@@ -0,0 +1,270 @@
+package com.example.news.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * /api/auth/** 的限流过滤器：按客户端 IP 和登录用户名分别做令牌桶限流。
+ * <p>
+ * 超限的请求在这里直接返回 429，不会进入 AuthenticationManager，也就不会触发 BCrypt 校验，
+ * 因此撞库流量只消耗一次哈希表查找和一次 CAS。
+ * 客户端 IP 取 getRemoteAddr()，部署在反向代理之后时应配置 server.forward-headers-strategy。
+ */
+@Component
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+
+    private final AntPathRequestMatcher authMatcher = new AntPathRequestMatcher("/api/auth/**");
+
+    private final List<Rule> rules = new ArrayList<>();
+    private final boolean enabled;
+    private final int maxBodySize;
+    private final long evictIntervalNanos;
+    private final ObjectMapper objectMapper;
+
+    private final AtomicLong nextEvictAt = new AtomicLong(System.nanoTime());
+
+    public AuthRateLimitFilter(AuthRateLimitProperties properties, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.maxBodySize = properties.getMaxBodySize();
+        this.evictIntervalNanos = properties.getEvictInterval().toNanos();
+        this.objectMapper = objectMapper;
+        for (Map.Entry<String, AuthRateLimitProperties.Route> entry : properties.getRoutes().entrySet()) {
+            AuthRateLimitProperties.Route route = entry.getValue();
+            if (route.getPath() == null) {
+                throw new IllegalArgumentException("app.auth.rate-limit.routes." + entry.getKey() + ".path is required");
+            }
+            rules.add(new Rule(route.getPath(), parseLimit(route.getPerIp()),
+                    parseLimit(route.getPerUsername()), meterRegistry));
+        }
+        // 精确路径优先，其次是更长的通配路径
+        rules.sort(Comparator.comparing((Rule rule) -> rule.path.contains("*"))
+                .thenComparing(rule -> -rule.path.length()));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) throws ServletException {
+        return !enabled || !authMatcher.matches(request);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        Rule rule = findRule(request);
+        if (rule == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long now = System.nanoTime();
+        evictIfDue(now);
+
+        // 1. 按 IP 限流
+        if (rule.perIp != null) {
+            long waitNanos = rule.perIp.tryAcquire(request.getRemoteAddr(), now);
+            if (waitNanos > 0) {
+                reject(response, waitNanos, rule.ipRejected);
+                return;
+            }
+        }
+
+        // 2. 按用户名限流：需要先读出请求体，再把缓存的请求体交给后续处理
+        if (rule.perUsername != null && HttpMethod.POST.matches(request.getMethod())) {
+            byte[] body = request.getInputStream().readNBytes(maxBodySize + 1);
+            if (body.length > maxBodySize) {
+                response.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+                return;
+            }
+            String username = readUsername(body);
+            if (username != null) {
+                long waitNanos = rule.perUsername.tryAcquire(username, now);
+                if (waitNanos > 0) {
+                    reject(response, waitNanos, rule.usernameRejected);
+                    return;
+                }
+            }
+            request = new CachedBodyRequest(request, body);
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    public long getRejectedCount() {
+        long total = 0;
+        for (Rule rule : rules) {
+            total += (long) (rule.ipRejected.count() + rule.usernameRejected.count());
+        }
+        return total;
+    }
+
+    private Rule findRule(HttpServletRequest request) {
+        for (Rule rule : rules) {
+            if (rule.matcher.matches(request)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    private String readUsername(byte[] body) {
+        try {
+            JsonNode username = objectMapper.readTree(body).get("username");
+            return username != null && username.isTextual()
+                    ? username.asText().trim().toLowerCase(Locale.ROOT)
+                    : null;
+        } catch (IOException | RuntimeException e) {
+            // 请求体不是合法 JSON，交给控制器按原样处理（不会进入密码校验）
+            return null;
+        }
+    }
+
+    private void reject(HttpServletResponse response, long waitNanos, Counter counter) throws IOException {
+        counter.increment();
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        response.setStatus(429);
+        response.setHeader("Retry-After", Long.toString(retryAfterSeconds));
+        response.setContentType("text/plain;charset=UTF-8");
+        response.getWriter().write("Too many requests");
+    }
+
+    private void evictIfDue(long now) {
+        long due = nextEvictAt.get();
+        if (now - due >= 0 && nextEvictAt.compareAndSet(due, now + evictIntervalNanos)) {
+            for (Rule rule : rules) {
+                if (rule.perIp != null) {
+                    rule.perIp.evictFull(now);
+                }
+                if (rule.perUsername != null) {
+                    rule.perUsername.evictFull(now);
+                }
+            }
+        }
+    }
+
+    private static TokenBucketLimiter parseLimit(String spec) {
+        if (spec == null || spec.isBlank()) {
+            return null;
+        }
+        int slash = spec.indexOf('/');
+        if (slash < 0) {
+            throw new IllegalArgumentException("Rate limit must look like <capacity>/<period>: " + spec);
+        }
+        int capacity = Integer.parseInt(spec.substring(0, slash).trim());
+        return new TokenBucketLimiter(capacity, DurationStyle.detectAndParse(spec.substring(slash + 1).trim()));
+    }
+
+    private static class Rule {
+        final String path;
+        final AntPathRequestMatcher matcher;
+        final TokenBucketLimiter perIp;
+        final TokenBucketLimiter perUsername;
+        // news.auth.rate_limited，按路由和限流维度区分
+        final Counter ipRejected;
+        final Counter usernameRejected;
+
+        Rule(String path, TokenBucketLimiter perIp, TokenBucketLimiter perUsername, MeterRegistry meterRegistry) {
+            this.path = path;
+            this.matcher = new AntPathRequestMatcher(path);
+            this.perIp = perIp;
+            this.perUsername = perUsername;
+            this.ipRejected = rejectedCounter(meterRegistry, path, "ip");
+            this.usernameRejected = rejectedCounter(meterRegistry, path, "username");
+        }
+
+        private static Counter rejectedCounter(MeterRegistry meterRegistry, String path, String key) {
+            return Counter.builder("news.auth.rate_limited")
+                    .description("Auth requests rejected with 429")
+                    .tag("route", path)
+                    .tag("key", key)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * 已读出请求体的请求包装，后续的消息转换器从缓存的字节中读取
+     */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.news.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * /api/auth/** 的限流配置（app.auth.rate-limit.*）。
+ * 限额写作 "容量/周期"，例如 5/1m 表示最多连续 5 次，之后每 12 秒恢复 1 次。
+ */
+@Component
+@ConfigurationProperties(prefix = "app.auth.rate-limit")
+public class AuthRateLimitProperties {
+
+    private boolean enabled = true;
+
+    // 多久清理一次已补满的桶
+    private Duration evictInterval = Duration.ofMinutes(1);
+
+    // 解析用户名时读取的最大请求体，超过则直接拒绝
+    private int maxBodySize = 4096;
+
+    // 路由名 -> 规则；精确路径优先于通配路径
+    private Map<String, Route> routes = new LinkedHashMap<>();
+
+    public static class Route {
+        // Ant 风格路径，例如 /api/auth/login
+        private String path;
+        // 按客户端 IP 的限额，为空表示不限
+        private String perIp;
+        // 按请求体中 username 的限额，为空表示不限
+        private String perUsername;
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public String getPerIp() {
+            return perIp;
+        }
+
+        public void setPerIp(String perIp) {
+            this.perIp = perIp;
+        }
+
+        public String getPerUsername() {
+            return perUsername;
+        }
+
+        public void setPerUsername(String perUsername) {
+            this.perUsername = perUsername;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getEvictInterval() {
+        return evictInterval;
+    }
+
+    public void setEvictInterval(Duration evictInterval) {
+        this.evictInterval = evictInterval;
+    }
+
+    public int getMaxBodySize() {
+        return maxBodySize;
+    }
+
+    public void setMaxBodySize(int maxBodySize) {
+        this.maxBodySize = maxBodySize;
+    }
+
+    public Map<String, Route> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(Map<String, Route> routes) {
+        this.routes = routes;
+    }
+}
@@ -2,12 +2,19 @@
 
 package com.example.news.security;
 
+import io.jsonwebtoken.ExpiredJwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -18,22 +25,51 @@ import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 import com.example.news.service.UserDetailsServiceImpl;
 
 import java.io.IOException;
+import java.util.List;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
+
     private final JwtService jwtService;
     private final UserDetailsServiceImpl userDetailsService;
+    private final TokenDenylist tokenDenylist;
+
+    // 无状态模式：直接根据已验签的 claims 构建认证信息，不再每次请求查询用户表
+    private final boolean stateless;
+
+    // 被拒绝的令牌计数（news.jwt.rejected），按原因区分：expired、invalid、revoked
+    private final Counter expiredTokens;
+    private final Counter invalidTokens;
+    private final Counter revokedTokens;
 
     // 定义不需要JWT认证的公共路径匹配器列表
     private final AntPathRequestMatcher authMatcher = new AntPathRequestMatcher("/api/auth/**");
     private final AntPathRequestMatcher newsGetMatcher = new AntPathRequestMatcher("/api/news/**",
             HttpMethod.GET.toString());
+    // 全量导出需要认证，不属于公共的新闻 GET 路径
+    private final AntPathRequestMatcher exportMatcher = new AntPathRequestMatcher("/api/news/export",
+            HttpMethod.GET.toString());
 
     @Autowired
-    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsServiceImpl userDetailsService) {
+    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsServiceImpl userDetailsService,
+            TokenDenylist tokenDenylist, @Value("${app.jwt.stateless:true}") boolean stateless,
+            MeterRegistry meterRegistry) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
+        this.tokenDenylist = tokenDenylist;
+        this.stateless = stateless;
+        this.expiredTokens = rejectedCounter(meterRegistry, "expired");
+        this.invalidTokens = rejectedCounter(meterRegistry, "invalid");
+        this.revokedTokens = rejectedCounter(meterRegistry, "revoked");
+    }
+
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("news.jwt.rejected")
+                .description("Bearer tokens that did not authenticate the request")
+                .tag("reason", reason)
+                .register(meterRegistry);
     }
 
     /**
@@ -42,8 +78,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
      */
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) throws ServletException {
-        // 如果请求匹配 authMatcher 或 newsGetMatcher，则返回 true (不执行过滤)
-        return authMatcher.matches(request) || newsGetMatcher.matches(request);
+        // 如果请求匹配 authMatcher 或 newsGetMatcher（导出除外），则返回 true (不执行过滤)
+        return authMatcher.matches(request)
+                || (newsGetMatcher.matches(request) && !exportMatcher.matches(request));
     }
 
     @Override
@@ -65,31 +102,40 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         jwt = authHeader.substring(7);
 
         try {
-            // 2. 从 Token 中提取用户名
-            username = jwtService.extractUsername(jwt);
-
-            // 3. 检查用户名是否存在且当前 SecurityContext 中没有认证信息
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                // 加载用户详情
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-
-                // 4. 验证 Token 是否有效
-                if (jwtService.isTokenValid(jwt, userDetails)) {
-                    // 创建认证 Token
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+            // 2. 验签并解析 Token（过期或签名错误会抛出异常）
+            VerifiedToken token = jwtService.parseToken(jwt);
+            username = token.subject();
+            String role = token.role();
+
+            // 3. 检查用户名是否存在、令牌未被吊销，且当前 SecurityContext 中没有认证信息
+            if (username != null && tokenDenylist.isRevoked(token.revocationId())) {
+                revokedTokens.increment();
+            } else if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                UsernamePasswordAuthenticationToken authToken;
+                if (stateless && role != null) {
+                    // 4a. 无状态模式：权限直接来自令牌中的角色
+                    authToken = new UsernamePasswordAuthenticationToken(
+                            username,
+                            null,
+                            List.of(new SimpleGrantedAuthority(role)));
+                } else {
+                    // 4b. 兼容模式（或旧令牌没有角色信息）：从数据库加载用户详情
+                    UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+                    authToken = new UsernamePasswordAuthenticationToken(
                             userDetails,
                             null,
                             userDetails.getAuthorities());
-                    authToken.setDetails(
-                            new WebAuthenticationDetailsSource().buildDetails(request));
-
-                    // 5. 将认证 Token 设置到 Security Context
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
                 }
+                authToken.setDetails(
+                        new WebAuthenticationDetailsSource().buildDetails(request));
+
+                // 5. 将认证 Token 设置到 Security Context
+                SecurityContextHolder.getContext().setAuthentication(authToken);
             }
         } catch (Exception e) {
-            // JWT 解析或验证失败
-            System.err.println("JWT authentication failed, clearing context: " + e.getMessage());
+            // JWT 解析或验证失败：只计数，不在每次失败时打印日志
+            (e instanceof ExpiredJwtException ? expiredTokens : invalidTokens).increment();
+            log.debug("JWT authentication failed, clearing context: {}", e.getMessage());
             SecurityContextHolder.clearContext();
             // 允许请求继续
         }
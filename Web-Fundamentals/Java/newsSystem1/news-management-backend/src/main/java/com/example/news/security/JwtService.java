@@ -1,45 +1,89 @@
 package com.example.news.security;
 
 import com.example.news.model.User;
-import io.jsonwebtoken.Claims;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.io.Serializer;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Service
 public class JwtService {
 
-    // 从 application.properties 读取 JWT 密钥
-    @Value("${jwt.secret}")
-    private String SECRET_KEY;
+    // 令牌中保存用户角色的 claim 名称
+    public static final String ROLE_CLAIM = "role";
 
-    // 从 application.properties 读取 JWT 过期时间 (毫秒)
-    @Value("${jwt.expiration}")
-    private long EXPIRATION_TIME;
+    // JWT 过期时间 (毫秒)
+    private final long expirationTime;
+
+    // 签名密钥和解析器只在启动时构建一次，JwtParser 不可变且线程安全
+    private final Key signInKey;
+    private final JwtParser parser;
+
+    // JSON 序列化器只查找一次；否则 Jwts.builder() 每次签发都会通过 ServiceLoader 扫描类路径
+    private final Serializer<Map<String, ?>> serializer;
+
+    // 最近验证过的令牌：key 为令牌的 SHA-256 摘要（不在内存中保留原始令牌），value 为已验签的不可变字段
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    // news.jwt.parse 耗时，按结果区分：cached（命中缓存）、verified（重新验签）、rejected（验签失败或过期）
+    private final Timer cachedParseTimer;
+    private final Timer verifiedParseTimer;
+    private final Timer rejectedParseTimer;
+
+    public JwtService(
+            @Value("${jwt.secret}") String secretKey,
+            @Value("${jwt.expiration}") long expirationTime,
+            @Value("${app.jwt.claims-cache.max-size:10000}") long claimsCacheSize,
+            MeterRegistry meterRegistry) {
+        this.expirationTime = expirationTime;
+        this.signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.parser = Jwts.parserBuilder().setSigningKey(signInKey).build();
+        this.serializer = loadSerializer();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(claimsCacheSize)
+                .expireAfterWrite(Duration.ofMinutes(5))
+                .build();
+        this.cachedParseTimer = parseTimer(meterRegistry, "cached");
+        this.verifiedParseTimer = parseTimer(meterRegistry, "verified");
+        this.rejectedParseTimer = parseTimer(meterRegistry, "rejected");
+    }
 
     /**
      * 从 Token 中提取用户名
      */
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return extractClaim(token, VerifiedToken::subject);
     }
 
     /**
-     * 从 Token 中提取单个 Claims
+     * 从 Token 中提取单个字段
      */
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    public <T> T extractClaim(String token, Function<VerifiedToken, T> claimsResolver) {
+        return claimsResolver.apply(parseToken(token));
     }
 
     /**
@@ -47,51 +91,84 @@ public class JwtService {
      */
     public String generateToken(User userDetails) {
         Map<String, Object> claims = new HashMap<>();
-        // 可以添加额外的用户信息到 Claims 中，例如 roles
+        // 写入角色，过滤器可直接根据已验签的 claims 构建权限，无需查询数据库
+        claims.put(ROLE_CLAIM, userDetails.getRole().name());
         return buildToken(claims, userDetails);
     }
 
     /**
-     * 验证 Token 是否有效
+     * 验签并解析令牌；签名错误或令牌过期时抛出 JwtException。
+     * 同一令牌在缓存有效期内只会真正解析一次，所有调用方共享同一个不可变的 VerifiedToken。
+     */
+    public VerifiedToken parseToken(String token) {
+        long start = System.nanoTime();
+        String key = hash(token);
+        VerifiedToken verified = verifiedTokens.getIfPresent(key);
+        if (verified != null) {
+            if (!verified.isExpired()) {
+                cachedParseTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return verified;
+            }
+            verifiedTokens.invalidate(key);
+        }
+        // 未命中或已过期：重新解析，过期令牌会在这里抛出 ExpiredJwtException
+        try {
+            verified = VerifiedToken.of(parser.parseClaimsJws(token).getBody());
+        } catch (JwtException | IllegalArgumentException e) {
+            rejectedParseTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+        verifiedTokens.put(key, verified);
+        verifiedParseTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return verified;
+    }
+
+    /**
+     * 验证 Token 是否有效（只解析一次）
      */
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        final VerifiedToken verified = parseToken(token);
+        return verified.subject().equals(userDetails.getUsername()) && !verified.isExpired();
     }
 
     private String buildToken(
             Map<String, Object> extraClaims,
             User userDetails
     ) {
+        long now = System.currentTimeMillis();
         return Jwts
                 .builder()
                 .setClaims(extraClaims)
                 .setSubject(userDetails.getUsername())
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .setId(UUID.randomUUID().toString())
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + expirationTime))
+                .serializeToJsonWith(serializer)
+                .signWith(signInKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private static Timer parseTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("news.jwt.parse")
+                .description("JWT signature verification and claims parsing")
+                .tag("result", result)
+                .register(meterRegistry);
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    @SuppressWarnings("unchecked")
+    private static Serializer<Map<String, ?>> loadSerializer() {
+        return ServiceLoader.load(Serializer.class)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No JWT JSON serializer on the classpath"));
     }
 
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(SECRET_KEY);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            // 所有 JVM 都必须支持 SHA-256
+            throw new IllegalStateException(e);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,137 @@
+package com.example.news.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 密码哈希专用线程池：登录和注册的 BCrypt 计算只在这里执行，线程数和队列长度都有上限。
+ * <p>
+ * 队列满时立即以 RejectedExecutionException 失败（由控制器转为 503），
+ * 因此登录洪峰最多占满这几个线程，不会拖住处理新闻读取的 Tomcat 线程。
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    private final ThreadPoolExecutor executor;
+
+    private final Counter rejected;
+    private final Timer hashTimer;
+    private final Timer queueWaitTimer;
+
+    public PasswordHashingExecutor(@Value("${app.auth.hashing.threads:0}") int threads,
+            @Value("${app.auth.hashing.queue-capacity:100}") int queueCapacity,
+            MeterRegistry meterRegistry) {
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(size, size, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread thread = new Thread(r, "password-hashing-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("news.auth.hashing.queue.depth", executor, e -> e.getQueue().size())
+                .description("Login/register tasks waiting for a hashing thread")
+                .register(meterRegistry);
+        Gauge.builder("news.auth.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Hashing threads currently busy")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("news.auth.hashing.rejected")
+                .description("Login/register requests rejected because the hashing queue was full")
+                .register(meterRegistry);
+        this.hashTimer = Timer.builder("news.auth.password.hash")
+                .description("BCrypt encode/verify time")
+                .register(meterRegistry);
+        this.queueWaitTimer = Timer.builder("news.auth.hashing.queue.wait")
+                .description("Time a login/register task waited for a hashing thread")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 在哈希线程池上执行任务（通常是包含 BCrypt 的整个登录或注册流程）
+     *
+     * @return 队列已满时返回以 RejectedExecutionException 失败的 future
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        long submittedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                queueWaitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return task.get();
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * 记录一次哈希计算的耗时（由 TimedPasswordEncoder 调用）
+     */
+    public void recordHash(long nanos) {
+        hashTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public int getPoolSize() {
+        return executor.getMaximumPoolSize();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public int getQueueCapacity() {
+        return executor.getQueue().size() + executor.getQueue().remainingCapacity();
+    }
+
+    public long getCompletedCount() {
+        return executor.getCompletedTaskCount();
+    }
+
+    public long getRejectedCount() {
+        return (long) rejected.count();
+    }
+
+    public long getHashCount() {
+        return hashTimer.count();
+    }
+
+    public double getAverageHashMillis() {
+        return hashTimer.mean(TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 最近一个统计窗口内的最大哈希耗时
+     */
+    public double getMaxHashMillis() {
+        return hashTimer.max(TimeUnit.MILLISECONDS);
+    }
+
+    public double getAverageQueueWaitMillis() {
+        return queueWaitTimer.mean(TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
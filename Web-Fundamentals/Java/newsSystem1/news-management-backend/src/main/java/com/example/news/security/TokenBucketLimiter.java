@@ -0,0 +1,61 @@
+package com.example.news.security;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 按 key 限流的令牌桶，容量为 capacity，每 period 补满。
+ * <p>
+ * 采用 GCRA（虚拟调度）形式实现：每个桶只保存一个“理论到达时间” TAT，
+ * 取令牌就是把 TAT 向后推一个补充间隔，用一次 CAS 完成，没有锁，也没有单独的补充线程。
+ * TAT 不晚于当前时间的桶已经是满的，与不存在的桶等价，可以随时清理。
+ */
+public class TokenBucketLimiter {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    public TokenBucketLimiter(int capacity, Duration period) {
+        if (capacity <= 0 || period.isZero() || period.isNegative()) {
+            throw new IllegalArgumentException("Invalid rate limit: " + capacity + "/" + period);
+        }
+        this.intervalNanos = Math.max(1, period.toNanos() / capacity);
+        this.burstNanos = intervalNanos * capacity;
+    }
+
+    /**
+     * 尝试取一个令牌
+     *
+     * @return 0 表示放行，否则为还需等待的纳秒数
+     */
+    public long tryAcquire(String key, long nowNanos) {
+        AtomicLong tat = buckets.get(key);
+        if (tat == null) {
+            tat = buckets.computeIfAbsent(key, k -> new AtomicLong(nowNanos));
+        }
+        while (true) {
+            long current = tat.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            long waitNanos = next - nowNanos - burstNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (tat.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * 清理已经补满的桶，使内存只与最近一个周期内活跃的 key 数量有关
+     */
+    public void evictFull(long nowNanos) {
+        buckets.values().removeIf(tat -> tat.get() - nowNanos <= 0);
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.news.security;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 已吊销 JWT 的内存黑名单（按 VerifiedToken.revocationId 记录，通常为 jti）。
+ * 条目只需保留到令牌自身过期为止，过期后自动清理，因此大小与活跃的已吊销令牌数量成正比。
+ */
+@Component
+public class TokenDenylist {
+
+    // jti -> 令牌过期时间 (毫秒)
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+
+    /**
+     * 吊销令牌
+     *
+     * @param tokenId    令牌的 revocationId
+     * @param expiration 令牌过期时间，过期后条目会被清理
+     */
+    public void revoke(String tokenId, Instant expiration) {
+        if (tokenId == null) {
+            return;
+        }
+        purgeExpired();
+        revoked.put(tokenId, expiration == null ? Long.MAX_VALUE : expiration.toEpochMilli());
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null) {
+            return false;
+        }
+        Long expiresAt = revoked.get(tokenId);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    private void purgeExpired() {
+        long now = System.currentTimeMillis();
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.news.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+import java.util.Date;
+
+/**
+ * 已验签令牌中用到的字段（不可变）。
+ * JwtService 缓存并返回它而不是 Claims：Claims 是可变的 Map，缓存命中时会被所有请求共享。
+ *
+ * @param subject    用户名
+ * @param role       角色，旧令牌可能没有
+ * @param id         jti，旧令牌可能没有
+ * @param issuedAt   签发时间，可能为 null
+ * @param expiration 过期时间，可能为 null
+ */
+public record VerifiedToken(String subject, String role, String id, Instant issuedAt, Instant expiration) {
+
+    static VerifiedToken of(Claims claims) {
+        return new VerifiedToken(
+                claims.getSubject(),
+                claims.get(JwtService.ROLE_CLAIM, String.class),
+                claims.getId(),
+                toInstant(claims.getIssuedAt()),
+                toInstant(claims.getExpiration()));
+    }
+
+    /**
+     * 黑名单中使用的标识：jti；没有 jti 的旧令牌退化为 "用户名@签发时间（秒）"，
+     * 同一用户在同一秒内签发的旧令牌会一起被吊销。两者都没有时返回 null，这样的令牌无法吊销
+     */
+    public String revocationId() {
+        if (id != null) {
+            return id;
+        }
+        if (subject != null && issuedAt != null) {
+            return subject + "@" + issuedAt.getEpochSecond();
+        }
+        return null;
+    }
+
+    public boolean isExpired() {
+        return expiration != null && expiration.isBefore(Instant.now());
+    }
+
+    private static Instant toInstant(Date date) {
+        return date == null ? null : date.toInstant();
+    }
+}
@@ -1,18 +1,24 @@
 package com.example.news.service;
 
+import com.example.news.config.DataSourceRouting;
 import com.example.news.dto.LoginRequest;
 import com.example.news.dto.RegisterRequest;
 import com.example.news.model.User;
 import com.example.news.repository.UserRepository;
 import com.example.news.security.JwtService;
+import com.example.news.security.PasswordHashingExecutor;
 import com.example.news.security.Role;
+import com.example.news.security.TokenDenylist;
+import com.example.news.security.VerifiedToken;
 
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * @AuthService
@@ -25,13 +31,18 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final TokenDenylist tokenDenylist;
+    private final PasswordHashingExecutor hashingExecutor;
 
     public AuthService(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtService jwtService,
-            AuthenticationManager authenticationManager) {
+            AuthenticationManager authenticationManager, TokenDenylist tokenDenylist,
+            PasswordHashingExecutor hashingExecutor) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtService = jwtService;
         this.authenticationManager = authenticationManager;
+        this.tokenDenylist = tokenDenylist;
+        this.hashingExecutor = hashingExecutor;
     }
 
     /**
@@ -41,8 +52,8 @@ public class AuthService {
      * @return 生成的 JWT 令牌
      */
     public String register(RegisterRequest request) {
-        // 检查用户名是否已被使用
-        if (userRepository.findByUsername(request.getUsername()).isPresent()) {
+        // 检查用户名是否已被使用（读主库，副本可能还没有刚注册的用户）
+        if (DataSourceRouting.onPrimary(() -> userRepository.findByUsername(request.getUsername())).isPresent()) {
             throw new RuntimeException("用户名已被占用");
         }
 
@@ -72,19 +83,51 @@ public class AuthService {
     public String login(LoginRequest request) {
         // 1. 使用 AuthenticationManager 验证用户名和密码
         // 如果凭证无效，这里会抛出异常 (如 BadCredentialsException)
-        authenticationManager.authenticate(
+        Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(
                         request.getUsername(),
                         request.getPassword()));
 
-        // 2. 验证成功，从数据库加载用户
-        User user = userRepository.findByUsername(request.getUsername())
-                .orElseThrow(() -> new RuntimeException("用户未找到"));
+        // 2. 验证成功，认证结果中的 principal 就是 UserDetailsServiceImpl 加载的 User，无需再查一次
+        User user = (User) authentication.getPrincipal();
 
         // 3. 生成 JWT 令牌 (包含用户角色和权限信息)
         return jwtService.generateToken(user);
     }
 
+    /**
+     * 在密码哈希线程池上执行注册，不占用请求线程
+     *
+     * @return 线程池队列已满时以 RejectedExecutionException 失败
+     */
+    public CompletableFuture<String> registerAsync(RegisterRequest request) {
+        return hashingExecutor.submit(() -> register(request));
+    }
+
+    /**
+     * 在密码哈希线程池上执行登录（BCrypt 校验），不占用请求线程
+     *
+     * @return 线程池队列已满时以 RejectedExecutionException 失败
+     */
+    public CompletableFuture<String> loginAsync(LoginRequest request) {
+        return hashingExecutor.submit(() -> login(request));
+    }
+
+    /**
+     * 用户登出：将令牌加入黑名单，直到其自然过期
+     *
+     * @param token JWT 令牌
+     * @throws IllegalArgumentException 如果令牌既没有 jti 也没有签发时间，无法吊销
+     */
+    public void logout(String token) {
+        VerifiedToken verified = jwtService.parseToken(token);
+        String revocationId = verified.revocationId();
+        if (revocationId == null) {
+            throw new IllegalArgumentException("Token has neither jti nor iat and cannot be revoked");
+        }
+        tokenDenylist.revoke(revocationId, verified.expiration());
+    }
+
     /**
      * 查找用户 (如果需要)
      */
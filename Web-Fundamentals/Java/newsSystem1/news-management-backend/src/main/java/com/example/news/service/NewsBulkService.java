@@ -0,0 +1,280 @@
+package com.example.news.service;
+
+import com.example.news.config.CacheConfig;
+import com.example.news.config.SearchIndexInitializer;
+import com.example.news.dto.BulkItemResult;
+import com.example.news.dto.BulkResult;
+import com.example.news.dto.NewsEvent;
+import com.example.news.model.News;
+import com.example.news.model.NewsContent;
+import com.example.news.outbox.NewsOutbox;
+import com.example.news.repository.NewsContentRepository;
+import com.example.news.repository.NewsRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.OptimisticLockException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * @NewsBulkService
+ *                  批量新增/修改/删除新闻。每个请求在一个事务中完成，
+ *                  写入按 hibernate.jdbc.batch_size 分批发送，并返回每个条目的处理结果。
+ *                  涉及的单篇缓存和分页缓存在事务提交后清除，避免并发读取在提交前把旧值重新放回缓存。
+ */
+@Service
+public class NewsBulkService {
+
+    private final NewsRepository newsRepository;
+    private final NewsContentRepository newsContentRepository;
+    private final EntityManager entityManager;
+    private final SearchIndexInitializer searchIndex;
+    private final CacheManager cacheManager;
+    private final NewsOutbox newsOutbox;
+
+    // 单次请求允许的最大条目数
+    @Value("${app.news.bulk.max-items:1000}")
+    private int maxItems;
+
+    // 每批 flush 的条数，与 hibernate.jdbc.batch_size 保持一致
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    public NewsBulkService(NewsRepository newsRepository, NewsContentRepository newsContentRepository,
+            EntityManager entityManager, SearchIndexInitializer searchIndex, CacheManager cacheManager,
+            NewsOutbox newsOutbox) {
+        this.newsRepository = newsRepository;
+        this.newsContentRepository = newsContentRepository;
+        this.entityManager = entityManager;
+        this.searchIndex = searchIndex;
+        this.cacheManager = cacheManager;
+        this.newsOutbox = newsOutbox;
+    }
+
+    /**
+     * 批量新增，作者统一设置为当前用户
+     *
+     * @throws IllegalArgumentException 如果条目数超过上限
+     */
+    @Transactional
+    public BulkResult createAll(List<News> items, String author) {
+        checkSize(items);
+        List<BulkItemResult> results = new ArrayList<>(items.size());
+        List<News> valid = new ArrayList<>(items.size());
+        List<Integer> validIndexes = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            News news = items.get(i);
+            String error = validate(news);
+            if (error != null) {
+                results.add(new BulkItemResult(i, null, BulkItemResult.INVALID, error));
+                continue;
+            }
+            // id 和版本号由数据库分配，忽略客户端传入的值
+            news.setId(null);
+            news.setVersion(null);
+            news.setAuthor(author);
+            valid.add(news);
+            validIndexes.add(i);
+            results.add(null);
+        }
+
+        for (int from = 0; from < valid.size(); from += batchSize) {
+            List<News> batch = valid.subList(from, Math.min(from + batchSize, valid.size()));
+            newsRepository.saveAll(batch);
+            newsContentRepository.saveAll(batch.stream().map(news -> new NewsContent(news, news.getContent())).toList());
+            batch.forEach(news -> newsOutbox.record(NewsEvent.created(news)));
+            flushAndClear();
+        }
+        refreshSearchVectors(valid);
+        // 单篇缓存可能记住了这些 id “不存在”
+        evictAfterCommit(valid.stream().map(News::getId).toList());
+
+        for (int i = 0; i < valid.size(); i++) {
+            int index = validIndexes.get(i);
+            results.set(index, new BulkItemResult(index, valid.get(i).getId(), BulkItemResult.CREATED, null));
+        }
+        return new BulkResult(results, valid.size());
+    }
+
+    /**
+     * 批量修改标题和正文。权限规则与单条修改相同：管理员或作者本人；
+     * 如果条目带有 version，则与当前版本不一致时返回 CONFLICT。
+     *
+     * @throws IllegalArgumentException                 如果条目数超过上限
+     * @throws ObjectOptimisticLockingFailureException 如果读取之后有条目被并发修改（整批回滚）
+     */
+    @Transactional
+    public BulkResult updateAll(List<News> items, Authentication authentication) {
+        checkSize(items);
+        Map<Long, News> existing = loadAll(items.stream().map(News::getId).filter(Objects::nonNull).toList());
+
+        List<BulkItemResult> results = new ArrayList<>(items.size());
+        List<News> updated = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            News details = items.get(i);
+            String error = details.getId() == null ? "id is required" : validate(details);
+            if (error != null) {
+                results.add(new BulkItemResult(i, details.getId(), BulkItemResult.INVALID, error));
+                continue;
+            }
+            News news = existing.get(details.getId());
+            if (news == null) {
+                results.add(new BulkItemResult(i, details.getId(), BulkItemResult.NOT_FOUND, null));
+            } else if (!canModify(news, authentication)) {
+                results.add(new BulkItemResult(i, news.getId(), BulkItemResult.FORBIDDEN, null));
+            } else if (details.getVersion() != null && !details.getVersion().equals(news.getVersion())) {
+                results.add(new BulkItemResult(i, news.getId(), BulkItemResult.CONFLICT,
+                        "current version is " + news.getVersion()));
+            } else {
+                news.setTitle(details.getTitle());
+                news.setContent(details.getContent());
+                // 正文不在 news 表中：显式刷新修改时间，保证只改正文时版本号也会递增
+                news.setUpdatedAt(LocalDateTime.now());
+                updated.add(news);
+                results.add(new BulkItemResult(i, news.getId(), BulkItemResult.UPDATED, null));
+            }
+        }
+
+        Map<Long, NewsContent> bodies = newsContentRepository.findAllById(updated.stream().map(News::getId).toList())
+                .stream().collect(Collectors.toMap(NewsContent::getNewsId, Function.identity()));
+        for (News news : updated) {
+            NewsContent body = bodies.get(news.getId());
+            if (body == null) {
+                newsContentRepository.save(new NewsContent(news, news.getContent()));
+            } else {
+                body.setText(news.getContent());
+            }
+        }
+
+        // 脏检查在 flush 时生成 UPDATE，按 order_updates 分批发送
+        try {
+            entityManager.flush();
+        } catch (OptimisticLockException e) {
+            // 持久化上下文已不可用，无法只跳过冲突的条目
+            throw new ObjectOptimisticLockingFailureException("News modified concurrently during bulk update", e);
+        }
+        refreshSearchVectors(updated);
+        updated.forEach(news -> newsOutbox.record(NewsEvent.updated(news)));
+        evictAfterCommit(updated.stream().map(News::getId).toList());
+        return new BulkResult(results, updated.size());
+    }
+
+    /**
+     * 批量删除，权限规则与单条删除相同
+     *
+     * @throws IllegalArgumentException 如果条目数超过上限
+     */
+    @Transactional
+    public BulkResult deleteAll(List<Long> ids, Authentication authentication) {
+        checkSize(ids);
+        Map<Long, News> existing = loadAll(ids.stream().filter(Objects::nonNull).toList());
+
+        List<BulkItemResult> results = new ArrayList<>(ids.size());
+        List<Long> allowed = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            News news = id == null ? null : existing.get(id);
+            if (news == null) {
+                results.add(new BulkItemResult(i, id, BulkItemResult.NOT_FOUND, null));
+            } else if (!canModify(news, authentication)) {
+                results.add(new BulkItemResult(i, id, BulkItemResult.FORBIDDEN, null));
+            } else {
+                allowed.add(id);
+                results.add(new BulkItemResult(i, id, BulkItemResult.DELETED, null));
+            }
+        }
+
+        if (!allowed.isEmpty()) {
+            // 一条 DELETE ... WHERE id IN (...)，不再逐条 SELECT + DELETE；正文由数据库级联删除
+            newsRepository.deleteAllByIdInBatch(allowed);
+        }
+        allowed.forEach(id -> newsOutbox.record(NewsEvent.deleted(id)));
+        evictAfterCommit(allowed);
+        return new BulkResult(results, allowed.size());
+    }
+
+    private Map<Long, News> loadAll(List<Long> ids) {
+        return newsRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(News::getId, Function.identity()));
+    }
+
+    private void refreshSearchVectors(List<News> news) {
+        if (searchIndex.isAvailable() && !news.isEmpty()) {
+            newsRepository.batchUpdateSearchVectors(news);
+        }
+    }
+
+    private void flushAndClear() {
+        // 每批写入后清空持久化上下文，避免一级缓存随批量大小增长
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private void evictAfterCommit(List<Long> ids) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(ids);
+                }
+            });
+        } else {
+            evict(ids);
+        }
+    }
+
+    private void evict(List<Long> ids) {
+        for (String name : List.of(CacheConfig.NEWS_BY_ID, CacheConfig.NEWS_CONTENT, CacheConfig.NEWS_VERSIONS)) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                ids.forEach(cache::evict);
+            }
+        }
+        Cache pages = cacheManager.getCache(CacheConfig.NEWS_PAGES);
+        if (pages != null) {
+            pages.clear();
+        }
+    }
+
+    private void checkSize(List<?> items) {
+        if (items.size() > maxItems) {
+            throw new IllegalArgumentException("Too many items: " + items.size() + " (max " + maxItems + ")");
+        }
+    }
+
+    private static String validate(News news) {
+        if (news == null) {
+            return "item is null";
+        }
+        if (news.getTitle() == null || news.getTitle().isBlank()) {
+            return "title is required";
+        }
+        if (news.getTitle().length() > 255) {
+            return "title is longer than 255 characters";
+        }
+        if (news.getContent() == null) {
+            return "content is required";
+        }
+        return null;
+    }
+
+    private static boolean canModify(News news, Authentication authentication) {
+        boolean isAdmin = authentication.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ADMIN"));
+        return isAdmin || authentication.getName().equals(news.getAuthor());
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.news.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 新闻列表的键集分页游标：(publishDate, id)。
+ * 对外以 URL 安全的 Base64 字符串传递，客户端不应解析其内容。
+ */
+public final class NewsCursor {
+
+    private final LocalDateTime publishDate;
+    private final Long id;
+
+    /**
+     * @throws IllegalArgumentException 如果 publishDate 或 id 为空
+     */
+    public NewsCursor(LocalDateTime publishDate, Long id) {
+        if (publishDate == null || id == null) {
+            throw new IllegalArgumentException("Cursor requires publishDate and id");
+        }
+        this.publishDate = publishDate;
+        this.id = id;
+    }
+
+    public LocalDateTime getPublishDate() {
+        return publishDate;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String encode() {
+        String raw = publishDate + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析游标字符串
+     *
+     * @throws IllegalArgumentException 如果游标格式不正确
+     */
+    public static NewsCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            if (sep < 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + token);
+            }
+            return new NewsCursor(LocalDateTime.parse(raw.substring(0, sep)), Long.valueOf(raw.substring(sep + 1)));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package com.example.news.service;
+
+import com.example.news.dto.NewsEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @NewsEventStream
+ *                  把新闻变更事件以 Server-Sent Events 推送给订阅者（/api/news/stream）。
+ *
+ *                  - 连接由 SseEmitter 异步持有，空闲连接不占用请求线程；
+ *                  写出由少量分发线程完成，每个订阅者有一个有界队列，慢客户端不会阻塞发布方。
+ *                  - 最近的事件保存在环形缓冲区中，客户端断线重连时携带 Last-Event-ID 补发错过的事件；
+ *                  错过的事件已不在缓冲区中时发送 reset 事件，客户端应重新加载列表。
+ *                  - 订阅者队列写满时按 app.news.stream.overflow 处理：
+ *                  DISCONNECT 断开连接（客户端自动重连并从环形缓冲区补发），
+ *                  DROP_OLDEST 丢弃最旧的事件并在后续发送 reset。
+ */
+@Service
+public class NewsEventStream {
+
+    // SSE 事件名：普通变更事件 / 需要客户端重新加载列表
+    public static final String EVENT_NEWS = "news";
+    public static final String EVENT_RESET = "reset";
+
+    // 建议客户端断线后的重连间隔
+    private static final long RECONNECT_MILLIS = 3000;
+
+    // 每次分发最多为一个订阅者写出的事件数，之后让出线程给其他订阅者
+    private static final int MAX_EVENTS_PER_DRAIN = 64;
+
+    public enum OverflowPolicy {
+        DISCONNECT, DROP_OLDEST
+    }
+
+    private final ObjectMapper objectMapper;
+    private final long timeoutMillis;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final OverflowPolicy overflowPolicy;
+
+    // 最近事件的环形缓冲区，由 this 加锁保护
+    private final Entry[] history;
+    private int historySize;
+    // 事件 id 从启动时的毫秒时间戳开始递增，重启后旧 id 一定早于缓冲区，客户端会收到 reset
+    private volatile long lastEventId = System.currentTimeMillis();
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong droppedEvents = new AtomicLong();
+    private final AtomicLong disconnectedSubscribers = new AtomicLong();
+
+    private final ExecutorService dispatcher;
+    private final ScheduledExecutorService heartbeat;
+
+    public NewsEventStream(ObjectMapper objectMapper,
+            @Value("${app.news.stream.timeout:30m}") Duration timeout,
+            @Value("${app.news.stream.history-size:1000}") int historySize,
+            @Value("${app.news.stream.buffer-size:256}") int bufferSize,
+            @Value("${app.news.stream.max-subscribers:50000}") int maxSubscribers,
+            @Value("${app.news.stream.overflow:DISCONNECT}") OverflowPolicy overflowPolicy,
+            @Value("${app.news.stream.dispatch-threads:4}") int dispatchThreads,
+            @Value("${app.news.stream.heartbeat:15s}") Duration heartbeatInterval) {
+        this.objectMapper = objectMapper;
+        this.timeoutMillis = timeout.toMillis();
+        this.history = new Entry[historySize];
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.overflowPolicy = overflowPolicy;
+        this.dispatcher = Executors.newFixedThreadPool(dispatchThreads, daemonThreads("news-stream-"));
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(daemonThreads("news-stream-heartbeat-"));
+        // 定期发送注释行，保持代理/负载均衡器上的空闲连接，并及时发现已断开的客户端
+        long interval = heartbeatInterval.toMillis();
+        this.heartbeat.scheduleAtFixedRate(this::heartbeat, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 新建订阅。lastEventId 不为空时先补发之后的事件
+     *
+     * @param lastEventId 客户端收到的最后一个事件 id（Last-Event-ID），可以为空
+     * @throws IllegalStateException 如果订阅者数量已达上限
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new IllegalStateException("Too many stream subscribers");
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, bufferSize);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> subscribers.remove(subscriber));
+        try {
+            // 连接建立后立即发送 retry 字段，使响应头马上写出，客户端无需等到第一个事件
+            emitter.send(SseEmitter.event().reconnectTime(RECONNECT_MILLIS));
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+            return emitter;
+        }
+
+        // 补发与加入订阅在同一把锁内完成，保证不会漏掉或重复两者之间发布的事件
+        synchronized (this) {
+            replay(subscriber, parseEventId(lastEventId));
+            subscribers.add(subscriber);
+        }
+        schedule(subscriber);
+        return emitter;
+    }
+
+    /**
+     * 把事件写入环形缓冲区并分发给所有订阅者（只入队，不在调用线程上写网络）。
+     * 事件由 NewsOutboxRelay 在写事务提交后经 ApplicationEventSink 发布。
+     */
+    @EventListener
+    public void publish(NewsEvent event) {
+        String data;
+        try {
+            data = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize news event", e);
+        }
+        synchronized (this) {
+            Entry entry = new Entry(lastEventId + 1, EVENT_NEWS, data);
+            history[(int) (entry.id % history.length)] = entry;
+            historySize = Math.min(historySize + 1, history.length);
+            lastEventId = entry.id;
+            for (Subscriber subscriber : subscribers) {
+                enqueue(subscriber, entry);
+                schedule(subscriber);
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    public long getDroppedEventCount() {
+        return droppedEvents.get();
+    }
+
+    public long getDisconnectedSubscriberCount() {
+        return disconnectedSubscribers.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        subscribers.clear();
+        dispatcher.shutdown();
+    }
+
+    // 调用方需持有 this 锁
+    private void replay(Subscriber subscriber, Long after) {
+        if (after == null || after >= lastEventId) {
+            return;
+        }
+        long oldest = lastEventId - historySize + 1;
+        long missed = lastEventId - after;
+        if (after < oldest - 1 || missed > bufferSize) {
+            // 错过的事件已不在缓冲区中（或超过队列容量），让客户端重新加载
+            subscriber.queue.offer(new Entry(lastEventId, EVENT_RESET, "{}"));
+            return;
+        }
+        for (long id = after + 1; id <= lastEventId; id++) {
+            subscriber.queue.offer(history[(int) (id % history.length)]);
+        }
+    }
+
+    private void enqueue(Subscriber subscriber, Entry entry) {
+        if (subscriber.queue.offer(entry)) {
+            return;
+        }
+        droppedEvents.incrementAndGet();
+        if (overflowPolicy == OverflowPolicy.DROP_OLDEST) {
+            subscriber.queue.poll();
+            subscriber.queue.offer(entry);
+            subscriber.overflowed.set(true);
+        } else {
+            // 断开慢客户端；EventSource 会带着 Last-Event-ID 自动重连并从环形缓冲区补发
+            subscriber.closed = true;
+            subscribers.remove(subscriber);
+            disconnectedSubscribers.incrementAndGet();
+        }
+    }
+
+    private void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeatDue.set(true);
+            schedule(subscriber);
+        }
+    }
+
+    /**
+     * 同一订阅者同时最多只有一个分发任务，保证事件按顺序写出
+     */
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.scheduled.compareAndSet(false, true)) {
+            try {
+                dispatcher.execute(() -> drain(subscriber));
+            } catch (RuntimeException e) {
+                // 应用关闭中
+                subscriber.scheduled.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            if (subscriber.closed) {
+                subscriber.emitter.complete();
+                return;
+            }
+            if (subscriber.overflowed.getAndSet(false)) {
+                send(subscriber, new Entry(lastEventId, EVENT_RESET, "{}"));
+            }
+            int sent = 0;
+            Entry entry;
+            while (sent < MAX_EVENTS_PER_DRAIN && (entry = subscriber.queue.poll()) != null) {
+                send(subscriber, entry);
+                sent++;
+            }
+            if (subscriber.heartbeatDue.getAndSet(false) && sent == 0) {
+                subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+            }
+        } catch (IOException | IllegalStateException e) {
+            // 客户端已断开或连接已结束，容器会触发 onError/onCompletion 回调
+            subscriber.closed = true;
+            subscribers.remove(subscriber);
+            return;
+        } finally {
+            subscriber.scheduled.set(false);
+        }
+        if (!subscriber.queue.isEmpty() || subscriber.closed) {
+            schedule(subscriber);
+        }
+    }
+
+    private static void send(Subscriber subscriber, Entry entry) throws IOException {
+        subscriber.emitter.send(SseEmitter.event()
+                .id(Long.toString(entry.id))
+                .name(entry.name)
+                .data(entry.data));
+    }
+
+    private static Long parseEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * 已序列化的事件，所有订阅者共享同一份 JSON
+     */
+    private static final class Entry {
+        final long id;
+        final String name;
+        final String data;
+
+        Entry(long id, String name, String data) {
+            this.id = id;
+            this.name = name;
+            this.data = data;
+        }
+    }
+
+    private static final class Subscriber {
+        final SseEmitter emitter;
+        final BlockingQueue<Entry> queue;
+        final AtomicBoolean scheduled = new AtomicBoolean();
+        final AtomicBoolean overflowed = new AtomicBoolean();
+        final AtomicBoolean heartbeatDue = new AtomicBoolean();
+        volatile boolean closed;
+
+        Subscriber(SseEmitter emitter, int bufferSize) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.news.service;
+
+import com.example.news.model.News;
+import com.example.news.model.NewsContent;
+import com.example.news.repository.NewsRepository;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * @NewsExportService
+ *                    以 NDJSON（每行一个 JSON 对象）格式流式导出新闻；客户端要求时改为 CBOR Sequence 或连续的 Smile 值。
+ *                    通过数据库游标逐行读取并立即写出，内存占用与数据量无关。
+ */
+@Service
+public class NewsExportService {
+
+    // 每写出多少条刷新一次输出流
+    private static final int FLUSH_EVERY = 500;
+
+    private final NewsRepository newsRepository;
+    private final EntityManager entityManager;
+    private final Map<NewsFormat, ObjectWriter> writers = new EnumMap<>(NewsFormat.class);
+
+    public NewsExportService(NewsRepository newsRepository, EntityManager entityManager, NewsFormatMappers mappers) {
+        this.newsRepository = newsRepository;
+        this.entityManager = entityManager;
+        for (NewsFormat format : NewsFormat.values()) {
+            writers.put(format, mappers.get(format).writerFor(News.class));
+        }
+        // NDJSON：每条之间用换行分隔
+        writers.put(NewsFormat.JSON, writers.get(NewsFormat.JSON).withRootValueSeparator("\n"));
+    }
+
+    /**
+     * 以指定格式导出新闻到输出流：JSON 每条一行，CBOR / Smile 为首尾相接的值序列
+     *
+     * @param since  为 null 时导出全部，否则只导出 since 之后（含）新增或修改过的新闻，按修改时间排序
+     * @param format 输出格式
+     * @param out    目标输出流（不会被关闭）
+     * @return 导出的条数
+     */
+    @Transactional(readOnly = true)
+    public long export(LocalDateTime since, NewsFormat format, OutputStream out) throws IOException {
+        BufferedOutputStream buffered = new BufferedOutputStream(out, 64 * 1024);
+        ObjectWriter writer = writers.get(format);
+        long count = 0;
+        try (Stream<Object[]> stream = since == null ? newsRepository.streamAllWithContent()
+                : newsRepository.streamSinceWithContent(since);
+                // 整个导出共用一个生成器，Smile 只写一次文件头，字段名共享表也在整个序列内生效
+                SequenceWriter sequence = writer.writeValues(new NonClosingOutputStream(buffered))) {
+            Iterator<Object[]> it = stream.iterator();
+            while (it.hasNext()) {
+                Object[] row = it.next();
+                News news = (News) row[0];
+                // 正文与元数据在同一条 SQL 中读出，逐行解压后写出
+                sequence.write(news.withContent(NewsContent.decompress((byte[]) row[1])));
+                // 写出后立即从持久化上下文中移除，避免一级缓存随导出量增长
+                entityManager.detach(news);
+                if (++count % FLUSH_EVERY == 0) {
+                    sequence.flush();
+                }
+            }
+        }
+        if (format == NewsFormat.JSON && count > 0) {
+            // 行分隔符只写在两条之间，补上最后一行的换行
+            buffered.write('\n');
+        }
+        buffered.flush();
+        return count;
+    }
+
+    /**
+     * 关闭 SequenceWriter 时不关闭底层的响应流
+     */
+    private static class NonClosingOutputStream extends FilterOutputStream {
+
+        NonClosingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.news.service;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 新闻列表和导出接口支持的表示格式。JSON 为默认值，CBOR / Smile 需要客户端在 Accept 中明确要求。
+ */
+public enum NewsFormat {
+
+    JSON(MediaType.APPLICATION_JSON, MediaType.parseMediaType("application/x-ndjson")),
+    CBOR(MediaType.APPLICATION_CBOR, MediaType.parseMediaType("application/cbor-seq")),
+    SMILE(MediaType.parseMediaType("application/x-jackson-smile"),
+            MediaType.parseMediaType("application/x-jackson-smile"));
+
+    // 单个文档（列表）的内容类型
+    private final MediaType mediaType;
+    // 逐条流式输出（导出）的内容类型：NDJSON / CBOR Sequence (RFC 8742) / 连续的 Smile 值
+    private final MediaType streamMediaType;
+
+    NewsFormat(MediaType mediaType, MediaType streamMediaType) {
+        this.mediaType = mediaType;
+        this.streamMediaType = streamMediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public MediaType getStreamMediaType() {
+        return streamMediaType;
+    }
+
+    /**
+     * 按 Accept 选择格式：按 q 值从高到低，第一个明确写出 CBOR / Smile 类型的胜出；
+     * 其余情况（包括通配类型、缺失或无法解析的 Accept）都返回 JSON
+     *
+     * @param accept Accept 请求头，可以为空
+     * @param stream true 时还接受流式内容类型（导出接口，例如 application/cbor-seq）
+     */
+    public static NewsFormat negotiate(String accept, boolean stream) {
+        if (accept == null || accept.isBlank()) {
+            return JSON;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return JSON;
+        }
+        // 稳定排序，q 值相同时保持客户端给出的顺序
+        accepted.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType type : accepted) {
+            if (type.getQualityValue() == 0) {
+                break;
+            }
+            for (NewsFormat format : values()) {
+                if (format != JSON && (format.mediaType.equalsTypeAndSubtype(type)
+                        || stream && format.streamMediaType.equalsTypeAndSubtype(type))) {
+                    return format;
+                }
+            }
+            if (type.isCompatibleWith(JSON.mediaType) || stream && type.isCompatibleWith(JSON.streamMediaType)) {
+                return JSON;
+            }
+        }
+        return JSON;
+    }
+}
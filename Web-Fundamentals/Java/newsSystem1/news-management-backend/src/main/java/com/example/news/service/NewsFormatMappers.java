@@ -0,0 +1,31 @@
+package com.example.news.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 每种 NewsFormat 对应的 ObjectMapper，与 HTTP 消息转换器使用同一组实例，
+ * 因此自行序列化的响应（首页快照、导出、单篇新闻）与框架序列化的结果完全一致。
+ */
+@Component
+public class NewsFormatMappers {
+
+    private final Map<NewsFormat, ObjectMapper> mappers = new EnumMap<>(NewsFormat.class);
+
+    public NewsFormatMappers(ObjectMapper objectMapper,
+            MappingJackson2CborHttpMessageConverter cborConverter,
+            MappingJackson2SmileHttpMessageConverter smileConverter) {
+        mappers.put(NewsFormat.JSON, objectMapper);
+        mappers.put(NewsFormat.CBOR, cborConverter.getObjectMapper());
+        mappers.put(NewsFormat.SMILE, smileConverter.getObjectMapper());
+    }
+
+    public ObjectMapper get(NewsFormat format) {
+        return mappers.get(format);
+    }
+}
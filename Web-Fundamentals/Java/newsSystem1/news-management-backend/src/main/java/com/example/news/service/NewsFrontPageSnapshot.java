@@ -0,0 +1,303 @@
+package com.example.news.service;
+
+import com.example.news.config.DataSourceRouting;
+import com.example.news.dto.NewsEvent;
+import com.example.news.model.News;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32C;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 首页新闻列表（GET /api/news）的内存快照。
+ * <p>
+ * 最新的 app.news.snapshot.max-items 篇新闻在后台线程里查询一次，序列化成 JSON（以及可选的 CBOR / Smile）字节，
+ * 超过 server.compression.min-response-size 的再预先压缩成 gzip，组成一个不可变的 Snapshot 后原子替换；请求线程只读取 volatile 引用并原样写出字节，
+ * 不访问数据库，也不做序列化和压缩。
+ * <p>
+ * 新闻变更事件（由发件箱投递）会在短暂合并后触发重建，另有定时刷新兜底
+ * （其它实例的写入、未启用 application 下游等情况）。内容与当前快照完全相同时不替换，
+ * 因此 ETag 和 Last-Modified 只在列表真正变化时改变。
+ */
+@Service
+public class NewsFrontPageSnapshot {
+
+    private static final Logger log = LoggerFactory.getLogger(NewsFrontPageSnapshot.class);
+
+    private final NewsService newsService;
+    private final NewsFormatMappers mappers;
+    private final int maxItems;
+    private final long gzipMinSize;
+    private final long refreshIntervalMillis;
+    private final long rebuildDelayMillis;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "news-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+    private volatile Snapshot current;
+
+    private final Timer buildTimer;
+    private final Counter buildFailures;
+
+    public NewsFrontPageSnapshot(NewsService newsService, NewsFormatMappers mappers, MeterRegistry meterRegistry,
+            @Value("${app.news.snapshot.max-items:1000}") int maxItems,
+            @Value("${app.news.snapshot.refresh-interval:30s}") Duration refreshInterval,
+            @Value("${app.news.snapshot.rebuild-delay:100ms}") Duration rebuildDelay,
+            @Value("${server.compression.min-response-size:2KB}") DataSize gzipMinSize) {
+        this.newsService = newsService;
+        this.mappers = mappers;
+        this.maxItems = maxItems;
+        this.gzipMinSize = gzipMinSize.toBytes();
+        this.refreshIntervalMillis = refreshInterval.toMillis();
+        this.rebuildDelayMillis = rebuildDelay.toMillis();
+        this.buildTimer = Timer.builder("news.snapshot.build")
+                .description("Time to query, serialize and compress the front-page snapshot")
+                .register(meterRegistry);
+        this.buildFailures = Counter.builder("news.snapshot.build.failures")
+                .description("Front-page snapshot rebuilds that failed (the previous snapshot is kept)")
+                .register(meterRegistry);
+        for (NewsFormat format : NewsFormat.values()) {
+            for (boolean gzip : new boolean[] { false, true }) {
+                Gauge.builder("news.snapshot.bytes", this,
+                                s -> s.current == null ? 0 : s.current.variant(format, gzip).getBody().length)
+                        .tag("format", format.name().toLowerCase(Locale.ROOT))
+                        .tag("encoding", gzip ? "gzip" : "identity")
+                        .register(meterRegistry);
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        executor.scheduleWithFixedDelay(this::rebuild, 0, refreshIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 新闻变更后重建快照；短时间内的多次变更（例如批量写入）合并为一次重建
+     */
+    @EventListener
+    public void onNewsEvent(NewsEvent event) {
+        if (rebuildPending.compareAndSet(false, true)) {
+            try {
+                executor.schedule(this::rebuild, rebuildDelayMillis, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // 正在关闭
+            }
+        }
+    }
+
+    /**
+     * 当前快照。启动后第一次重建完成之前被调用时在调用线程上同步构建
+     */
+    public Snapshot current() {
+        Snapshot snapshot = current;
+        if (snapshot == null) {
+            synchronized (this) {
+                snapshot = current;
+                if (snapshot == null) {
+                    snapshot = build(null);
+                    current = snapshot;
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    private void rebuild() {
+        rebuildPending.set(false);
+        try {
+            synchronized (this) {
+                current = build(current);
+            }
+        } catch (RuntimeException e) {
+            buildFailures.increment();
+            log.warn("Front-page snapshot rebuild failed, keeping the previous one", e);
+        }
+    }
+
+    /**
+     * 查询并序列化最新列表；与 previous 内容相同时直接返回 previous
+     */
+    private Snapshot build(Snapshot previous) {
+        long start = System.nanoTime();
+        // 变更事件在提交后才到达，从主库读取，避免副本延迟把旧列表固定到下一次定时刷新
+        List<News> items = DataSourceRouting.onPrimary(() -> newsService.getLatestNews(maxItems));
+        byte[] json = serialize(NewsFormat.JSON, items);
+        if (previous != null && Arrays.equals(previous.json, json)) {
+            buildTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return previous;
+        }
+        Map<NewsFormat, byte[]> encoded = new EnumMap<>(NewsFormat.class);
+        encoded.put(NewsFormat.JSON, json);
+        encoded.put(NewsFormat.CBOR, serialize(NewsFormat.CBOR, items));
+        encoded.put(NewsFormat.SMILE, serialize(NewsFormat.SMILE, items));
+        Snapshot snapshot = new Snapshot(encoded, items.size(), System.currentTimeMillis(), gzipMinSize);
+        buildTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return snapshot;
+    }
+
+    private byte[] serialize(NewsFormat format, List<News> items) {
+        try {
+            return mappers.get(format).writeValueAsBytes(items);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize front-page snapshot as " + format, e);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Accept-Encoding 是否接受 gzip（q=0 视为拒绝）
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.toLowerCase(Locale.ROOT).split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            if (name.equals("gzip") || name.equals("x-gzip") || name.equals("*")) {
+                for (int i = 1; i < parts.length; i++) {
+                    String param = parts[i].trim();
+                    if (param.startsWith("q=") && isZero(param.substring(2).trim())) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isZero(String qvalue) {
+        try {
+            return Double.parseDouble(qvalue) == 0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * 不可变快照：每种格式的原文和 gzip 压缩后的字节，每种表示有各自的强 ETag
+     */
+    public static final class Snapshot {
+
+        private final byte[] json;
+        private final Map<NewsFormat, Variant> identity = new EnumMap<>(NewsFormat.class);
+        private final Map<NewsFormat, Variant> gzipped = new EnumMap<>(NewsFormat.class);
+        private final int size;
+        private final long lastModified;
+
+        Snapshot(Map<NewsFormat, byte[]> encoded, int size, long lastModified, long gzipMinSize) {
+            this.json = encoded.get(NewsFormat.JSON);
+            CRC32C crc = new CRC32C();
+            crc.update(json);
+            String hash = Long.toHexString(crc.getValue()) + "-" + Integer.toHexString(json.length);
+            for (Map.Entry<NewsFormat, byte[]> entry : encoded.entrySet()) {
+                NewsFormat format = entry.getKey();
+                byte[] body = entry.getValue();
+                // JSON 保持原来的 ETag 形式，其它格式加上格式后缀
+                String etag = "list-" + hash
+                        + (format == NewsFormat.JSON ? "" : "-" + format.name().toLowerCase(Locale.ROOT));
+                Variant plain = new Variant(body, "\"" + etag + "\"", format.getMediaType(), null);
+                identity.put(format, plain);
+                // 小于压缩阈值时压缩收益抵不过开销，gzip 客户端也拿到原文
+                gzipped.put(format, body.length < gzipMinSize ? plain
+                        : new Variant(gzip(body), "\"" + etag + "-gzip\"", format.getMediaType(), "gzip"));
+            }
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+
+        public Variant variant(NewsFormat format, boolean gzip) {
+            return (gzip ? gzipped : identity).get(format);
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public long getLastModified() {
+            return lastModified;
+        }
+    }
+
+    /**
+     * 快照中的一种表示
+     */
+    public static final class Variant {
+
+        private final byte[] body;
+        private final String etag;
+        private final MediaType contentType;
+        private final String contentEncoding;
+
+        Variant(byte[] body, String etag, MediaType contentType, String contentEncoding) {
+            this.body = body;
+            this.etag = etag;
+            this.contentType = contentType;
+            this.contentEncoding = contentEncoding;
+        }
+
+        // 返回内部数组本身，调用方不得修改
+        public byte[] getBody() {
+            return body;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        public MediaType getContentType() {
+            return contentType;
+        }
+
+        // 未压缩时为 null
+        public String getContentEncoding() {
+            return contentEncoding;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.news.service;
+
+import com.example.news.model.News;
+import com.example.news.model.NewsContent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 单篇新闻（GET /api/news/{id}）响应体的请求合并。
+ * <p>
+ * 热点新闻发布时，同一篇新闻的大量请求几乎同时到达。数据库加载本身已由 @Cacheable(sync = true) 按 key 合并，
+ * 但每个请求仍要各自解压正文并序列化整篇新闻。这里按 (id, 版本, 格式) 合并同时进行的请求：
+ * 第一个请求（leader）加载并序列化，其余请求（follower）等待同一个结果并直接写出这份字节。
+ * <p>
+ * 只合并正在进行中的请求，完成后立即移除，不额外缓存响应体；键中带版本号，更新后的请求不会拿到旧内容。
+ * 进行中的请求保存在 ConcurrentHashMap 中，只有插入和移除各自 key 时的短暂同步，热路径上没有全局锁。
+ * follower 最多等待 app.news.coalescing.timeout，超时后自行加载，避免一个卡住的 leader 拖住所有请求。
+ */
+@Service
+public class NewsReadCoalescer {
+
+    private final NewsService newsService;
+    private final NewsFormatMappers mappers;
+    private final long timeoutMillis;
+
+    private final ConcurrentHashMap<Key, CompletableFuture<byte[]>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter leaders;
+    private final Counter followers;
+    private final Counter timeouts;
+
+    public NewsReadCoalescer(NewsService newsService, NewsFormatMappers mappers, MeterRegistry meterRegistry,
+            @Value("${app.news.coalescing.timeout:2s}") Duration timeout) {
+        this.newsService = newsService;
+        this.mappers = mappers;
+        this.timeoutMillis = timeout.toMillis();
+        this.leaders = requests(meterRegistry, "leader");
+        this.followers = requests(meterRegistry, "follower");
+        this.timeouts = requests(meterRegistry, "timeout");
+        Gauge.builder("news.coalescing.in_flight", inFlight, ConcurrentHashMap::size)
+                .description("Single-news reads currently being loaded by a leader request")
+                .register(meterRegistry);
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("news.coalescing.requests")
+                .description("Single-news reads by role: leader loads, follower reuses an in-flight load, "
+                        + "timeout gave up waiting and loaded on its own")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 指定版本的新闻按 format 序列化后的完整响应体（包含解压后的正文）
+     *
+     * @return 响应体字节，调用方不得修改；新闻在校验版本之后被删除时返回 null
+     * @throws IllegalStateException 如果等待 leader 时被中断，或序列化失败
+     */
+    public byte[] render(Long id, long version, NewsFormat format) {
+        Key key = new Key(id, version, format);
+        CompletableFuture<byte[]> mine = new CompletableFuture<>();
+        CompletableFuture<byte[]> existing = inFlight.putIfAbsent(key, mine);
+        if (existing == null) {
+            leaders.increment();
+            try {
+                byte[] body = load(id, format);
+                mine.complete(body);
+                return body;
+            } catch (RuntimeException | Error e) {
+                mine.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(key, mine);
+            }
+        }
+        followers.increment();
+        try {
+            return existing.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            return load(id, format);
+        } catch (ExecutionException e) {
+            // leader 的异常原样交给 follower，与 leader 自己收到的异常相同，由 NewsController 转换为 503
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for news " + id, e);
+        }
+    }
+
+    private byte[] load(Long id, NewsFormat format) {
+        News news = newsService.getNewsById(id).orElse(null);
+        if (news == null) {
+            return null;
+        }
+        News full = news.withContent(NewsContent.decompress(newsService.getCompressedContent(id)));
+        try {
+            return mappers.get(format).writeValueAsBytes(full);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize news " + id + " as "
+                    + format.name().toLowerCase(Locale.ROOT), e);
+        }
+    }
+
+    private record Key(Long id, long version, NewsFormat format) {
+    }
+}
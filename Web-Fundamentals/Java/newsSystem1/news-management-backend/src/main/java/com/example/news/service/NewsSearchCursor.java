@@ -0,0 +1,50 @@
+package com.example.news.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 全文检索结果的键集分页游标：(rank, id)。
+ * 与 NewsCursor 一样以 URL 安全的 Base64 字符串传递。
+ */
+public final class NewsSearchCursor {
+
+    private final Float rank;
+    private final Long id;
+
+    public NewsSearchCursor(Float rank, Long id) {
+        this.rank = rank;
+        this.id = id;
+    }
+
+    public Float getRank() {
+        return rank;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String encode() {
+        String raw = rank + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析游标字符串
+     *
+     * @throws IllegalArgumentException 如果游标格式不正确
+     */
+    public static NewsSearchCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            if (sep < 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + token);
+            }
+            return new NewsSearchCursor(Float.valueOf(raw.substring(0, sep)), Long.valueOf(raw.substring(sep + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+}
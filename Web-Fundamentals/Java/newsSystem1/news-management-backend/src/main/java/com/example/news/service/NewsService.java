@@ -1,12 +1,33 @@
 package com.example.news.service;
 
+import com.example.news.config.CacheConfig;
+import com.example.news.config.SearchIndexInitializer;
+import com.example.news.dto.NewsEvent;
+import com.example.news.dto.NewsPage;
+import com.example.news.dto.NewsSearchHit;
+import com.example.news.dto.NewsSummary;
+import com.example.news.dto.NewsVersion;
 import com.example.news.model.News;
+import com.example.news.model.NewsContent;
+import com.example.news.outbox.NewsOutbox;
+import com.example.news.repository.NewsContentRepository;
 import com.example.news.repository.NewsRepository;
+import com.example.news.repository.NewsSearchRow;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 public class NewsService {
@@ -14,54 +35,233 @@ public class NewsService {
     @Autowired
     private NewsRepository newsRepository;
 
-    public List<News> getAllNews() {
-        return newsRepository.findAll();
+    @Autowired
+    private NewsContentRepository newsContentRepository;
+
+    @Autowired
+    private SearchIndexInitializer searchIndex;
+
+    // 变更事件与数据同事务写入发件箱，提交后由 relay 投递给 /api/news/stream 等下游
+    @Autowired
+    private NewsOutbox newsOutbox;
+
+    // 游标分页的默认页大小与上限
+    @Value("${app.news.page.default-size:20}")
+    private int defaultPageSize;
+
+    @Value("${app.news.page.max-size:100}")
+    private int maxPageSize;
+
+    /**
+     * 最新的 maxItems 篇新闻的元数据，不包含正文（content 为 null），列表展示使用 excerpt。
+     * maxItems 不大于 0 时返回全部新闻
+     */
+    @Transactional(readOnly = true)
+    public List<News> getLatestNews(int maxItems) {
+        return newsRepository.findLatest(maxItems > 0 ? Limit.of(maxItems) : Limit.unlimited());
+    }
+
+    /**
+     * 键集分页读取新闻摘要，不加载 content 正文。
+     *
+     * @param cursor 上一页返回的 nextCursor，为空时读取第一页
+     * @param size   页大小，会被限制在 [1, maxPageSize] 内
+     * @throws IllegalArgumentException 如果游标格式不正确
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.NEWS_PAGES, key = "{#cursor, #size}", sync = true)
+    public NewsPage getNewsPage(String cursor, Integer size) {
+        int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        // 多取一条用于判断是否还有下一页
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<NewsSummary> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = newsRepository.findLatestSummaries(limit);
+        } else {
+            NewsCursor after = NewsCursor.decode(cursor);
+            rows = newsRepository.findSummariesBefore(after.getPublishDate(), after.getId(), limit);
+        }
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            NewsSummary last = rows.get(pageSize - 1);
+            nextCursor = new NewsCursor(last.getPublishDate(), last.getId()).encode();
+        }
+        return new NewsPage(rows, nextCursor);
     }
 
+    /**
+     * 全文检索，按相关度键集分页，结果只包含摘要字段和高亮片段。
+     *
+     * @param query  检索词（支持 websearch 语法，例如 "a b" -c）
+     * @param cursor 上一页返回的 nextCursor，为空时读取第一页
+     * @param size   页大小，会被限制在 [1, maxPageSize] 内
+     * @throws IllegalArgumentException      如果检索词为空或游标格式不正确
+     * @throws UnsupportedOperationException 如果当前数据库不支持全文检索
+     */
+    @Transactional(readOnly = true)
+    public NewsPage searchNews(String query, String cursor, Integer size) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be empty");
+        }
+        if (!searchIndex.isAvailable()) {
+            throw new UnsupportedOperationException("Full-text search requires PostgreSQL");
+        }
+        int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+
+        List<NewsSearchRow> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = newsRepository.search(query, pageSize + 1);
+        } else {
+            NewsSearchCursor after = NewsSearchCursor.decode(cursor);
+            rows = newsRepository.searchAfter(query, after.getRank(), after.getId(), pageSize + 1);
+        }
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            NewsSearchRow last = rows.get(pageSize - 1);
+            nextCursor = new NewsSearchCursor(last.getRank(), last.getId()).encode();
+        }
+        List<NewsSummary> hits = rows.stream()
+                .map(row -> new NewsSearchHit(row.getId(), row.getTitle(), row.getAuthor(), row.getPublishDate(),
+                        row.getExcerpt(), row.getSnippet(), row.getRank()))
+                .collect(Collectors.toList());
+        return new NewsPage(hits, nextCursor);
+    }
+
+    /**
+     * 单篇新闻的元数据，不包含正文；正文通过 getCompressedContent 单独读取
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.NEWS_BY_ID, key = "#id", sync = true)
     public Optional<News> getNewsById(Long id) {
         return newsRepository.findById(id);
     }
 
+    /**
+     * 单篇新闻压缩后的正文字节，缓存中也保存压缩形式，由调用方用 NewsContent.decompress 解压
+     *
+     * @return 压缩后的正文，新闻不存在时返回 null
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.NEWS_CONTENT, key = "#id", sync = true)
+    public byte[] getCompressedContent(Long id) {
+        return newsContentRepository.findDataById(id).orElse(null);
+    }
+
+    /**
+     * 单篇新闻的校验信息，不加载 content 正文
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.NEWS_VERSIONS, key = "#id", sync = true)
+    public Optional<NewsVersion> getNewsVersion(Long id) {
+        return newsRepository.findVersionById(id);
+    }
+
+    // 单篇缓存会记住“不存在”的结果，新增后也要按新 id 清除
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.NEWS_BY_ID, key = "#result.id"),
+            @CacheEvict(cacheNames = CacheConfig.NEWS_CONTENT, key = "#result.id"),
+            @CacheEvict(cacheNames = CacheConfig.NEWS_VERSIONS, key = "#result.id"),
+            @CacheEvict(cacheNames = CacheConfig.NEWS_PAGES, allEntries = true) })
+    @Transactional
     public News createNews(News news) {
         // 可以在这里设置 author，例如从 SecurityContext 获取当前用户
-        return newsRepository.save(news);
+        News saved = newsRepository.save(news);
+        newsContentRepository.save(new NewsContent(saved, news.getContent()));
+        refreshSearchVector(saved);
+        newsOutbox.record(NewsEvent.created(saved));
+        return saved;
     }
 
+    /**
+     * 修改标题和正文。权限检查（管理员或作者本人）与修改在同一条条件 UPDATE 中完成，
+     * 不先加载新闻；newsDetails 带有 version 时同时做乐观锁检查。
+     *
+     * @throws RuntimeException                      如果新闻不存在
+     * @throws AccessDeniedException                 如果当前用户无权修改
+     * @throws ObjectOptimisticLockingFailureException 如果 version 与当前版本不一致
+     */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.NEWS_BY_ID, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.NEWS_CONTENT, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.NEWS_VERSIONS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.NEWS_PAGES, allEntries = true) })
+    @Transactional
     public News updateNews(Long id, News newsDetails, org.springframework.security.core.Authentication authentication) {
-        News news = newsRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("News not found with id: " + id));
-
         String currentUsername = authentication.getName();
-        boolean isAdmin = authentication.getAuthorities().stream()
-                .anyMatch(a -> a.getAuthority().equals("ADMIN"));
+        boolean isAdmin = isAdmin(authentication);
+        String content = newsDetails.getContent();
 
-        // 权限检查：只有管理员或作者本人可以修改
-        if (!isAdmin && !currentUsername.equals(news.getAuthor())) {
-            throw new org.springframework.security.access.AccessDeniedException(
-                    "You do not have permission to update this news.");
+        // 不更新 publishDate，只更新内容
+        int updated = newsRepository.updateIfPermitted(id, newsDetails.getTitle(), News.excerptOf(content),
+                LocalDateTime.now(), newsDetails.getVersion(), currentUsername, isAdmin);
+        if (updated == 0) {
+            throw rejected(id, currentUsername, isAdmin, "update");
+        }
+        if (newsContentRepository.updateData(id, NewsContent.compress(content)) == 0) {
+            // 迁移前遗留的新闻可能还没有正文行
+            newsContentRepository.save(new NewsContent(newsRepository.getReferenceById(id), content));
         }
 
-        news.setTitle(newsDetails.getTitle());
-        news.setContent(newsDetails.getContent());
-        // 不更新 publishDate，只更新内容
-        return newsRepository.save(news);
+        // 响应需要作者、发布时间和新版本号，读回元数据（不含正文）
+        News saved = newsRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("News not found with id: " + id))
+                .withContent(content);
+        refreshSearchVector(saved);
+        newsOutbox.record(NewsEvent.updated(saved));
+        return saved;
     }
 
+    /**
+     * 删除新闻。权限检查与删除在同一条条件 DELETE 中完成，正文随 news 行由数据库级联删除 (ON DELETE CASCADE)
+     *
+     * @throws RuntimeException      如果新闻不存在
+     * @throws AccessDeniedException 如果当前用户无权删除
+     */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.NEWS_BY_ID, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.NEWS_CONTENT, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.NEWS_VERSIONS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.NEWS_PAGES, allEntries = true) })
+    @Transactional
     public void deleteNews(Long id, org.springframework.security.core.Authentication authentication) {
-        News news = newsRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("News not found with id: " + id));
-
         String currentUsername = authentication.getName();
-        boolean isAdmin = authentication.getAuthorities().stream()
+        boolean isAdmin = isAdmin(authentication);
+        if (newsRepository.deleteIfPermitted(id, currentUsername, isAdmin) == 0) {
+            throw rejected(id, currentUsername, isAdmin, "delete");
+        }
+        newsOutbox.record(NewsEvent.deleted(id));
+    }
+
+    /**
+     * 条件写入未命中任何行时，再查询一次元数据区分原因（只在失败路径上执行）
+     */
+    private RuntimeException rejected(Long id, String username, boolean isAdmin, String action) {
+        News news = newsRepository.findById(id).orElse(null);
+        if (news == null) {
+            return new RuntimeException("News not found with id: " + id);
+        }
+        if (!isAdmin && !username.equals(news.getAuthor())) {
+            return new AccessDeniedException("You do not have permission to " + action + " this news.");
+        }
+        return new ObjectOptimisticLockingFailureException(News.class, id);
+    }
+
+    private static boolean isAdmin(org.springframework.security.core.Authentication authentication) {
+        return authentication.getAuthorities().stream()
                 .anyMatch(a -> a.getAuthority().equals("ADMIN"));
+    }
 
-        // 如果是 ADMIN 或 作者本人，允许删除
-        if (isAdmin || currentUsername.equals(news.getAuthor())) {
-            newsRepository.deleteById(id);
-        } else {
-            // 否则抛出 403 Forbidden
-            throw new org.springframework.security.access.AccessDeniedException(
-                    "You do not have permission to delete this news.");
+    /**
+     * 用内存中已有的标题和正文刷新检索向量，无需从数据库读回 content
+     */
+    private void refreshSearchVector(News news) {
+        if (searchIndex.isAvailable()) {
+            newsRepository.updateSearchVector(news.getId(), news.getTitle(), news.getContent());
         }
     }
-}
\ No newline at end of file
+}
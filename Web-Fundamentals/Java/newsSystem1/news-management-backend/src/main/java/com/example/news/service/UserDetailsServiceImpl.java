@@ -1,12 +1,18 @@
 package com.example.news.service;
 
+import com.example.news.config.CacheConfig;
+import com.example.news.config.DataSourceRouting;
+import com.example.news.model.User;
 import com.example.news.repository.UserRepository;
 
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.util.Optional;
+
 /**
  * Custom UserDetailsService 实现
  * 负责从数据库加载用户数据，供 Spring Security 认证使用。
@@ -21,16 +27,22 @@ public class UserDetailsServiceImpl implements UserDetailsService {
     }
 
     /**
-     * 根据用户名加载用户。
+     * 根据用户名加载用户。查询是只读事务，启用读写分离时走副本；
+     * 副本上找不到时再查一次主库，刚注册、还没复制到副本的用户也能立即登录。
+     * 找到的用户按用户名缓存（用户不存在时抛出异常，不会被缓存），同一用户名并发加载时只查询一次。
      * 
      * @param username 用户的唯一标识符
      * @return 实现了 UserDetails 接口的用户对象
      * @throws UsernameNotFoundException 如果用户未找到
      */
     @Override
+    @Cacheable(cacheNames = CacheConfig.USERS_BY_USERNAME, key = "#username", sync = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         // 由于 User.java 已经实现了 UserDetails 接口，这里可以直接返回 User 实体
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("用户未找到: " + username));
+        Optional<User> user = userRepository.findByUsername(username);
+        if (user.isEmpty()) {
+            user = DataSourceRouting.onPrimary(() -> userRepository.findByUsername(username));
+        }
+        return user.orElseThrow(() -> new UsernameNotFoundException("用户未找到: " + username));
     }
 }
\ No newline at end of file
@@ -0,0 +1,112 @@
+package com.example.news.security;
+
+import com.example.news.model.User;
+import com.example.news.service.AuthService;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 登出后的令牌（包括没有 jti 的旧令牌）必须被 JwtAuthenticationFilter 拒绝。
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class TokenRevocationTest {
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+    @Autowired
+    private AuthService authService;
+
+    @Value("${jwt.secret}")
+    private String secret;
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void loggedOutTokenIsRejectedByFilter() throws Exception {
+        User user = new User();
+        user.setUsername("logout-test");
+        user.setRole(Role.USER);
+        String token = jwtService.generateToken(user);
+        assertEquals("logout-test", authenticate(token).getName());
+
+        authService.logout(token);
+
+        assertNull(authenticate(token));
+    }
+
+    @Test
+    void legacyTokenWithoutJtiIsRevokedBySubjectAndIssueTime() throws Exception {
+        long issuedAt = System.currentTimeMillis();
+        String token = legacyToken("legacy-test", issuedAt);
+        // 同一用户在另一秒签发的旧令牌不受影响
+        String other = legacyToken("legacy-test", issuedAt - 5000);
+        assertNotNull(authenticate(token));
+
+        authService.logout(token);
+
+        assertNull(authenticate(token));
+        assertNotNull(authenticate(other));
+    }
+
+    @Test
+    void tokenWithoutJtiOrIssueTimeCannotBeLoggedOut() {
+        String token = sign(Jwts.builder()
+                .setSubject("no-iat-test")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000)));
+        assertThrows(IllegalArgumentException.class, () -> authService.logout(token));
+    }
+
+    private String legacyToken(String subject, long issuedAt) {
+        // 加入 jti 之前签发的令牌：只有 sub、role、iat、exp
+        return sign(Jwts.builder()
+                .claim(JwtService.ROLE_CLAIM, Role.USER.name())
+                .setSubject(subject)
+                .setIssuedAt(new Date(issuedAt))
+                .setExpiration(new Date(issuedAt + 60_000)));
+    }
+
+    private String sign(JwtBuilder builder) {
+        return builder.signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret)), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    /**
+     * 以写请求经过过滤器，返回过滤器建立的认证信息（被拒绝时为 null）
+     */
+    private Authentication authenticate(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/api/news/1");
+        request.addHeader("Authorization", "Bearer " + token);
+        AtomicReference<Authentication> authentication = new AtomicReference<>();
+        jwtAuthenticationFilter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> authentication.set(SecurityContextHolder.getContext().getAuthentication()));
+        return authentication.get();
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.news.service;
+
+import com.example.news.dto.LoginRequest;
+import com.example.news.dto.RegisterRequest;
+import com.example.news.model.User;
+import com.example.news.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 注册之前按用户名查找不到的用户（usersByUsername 缓存、Hibernate 自然键缓存），注册后必须立即可见。
+ * 使用 application.properties 中配置的 PostgreSQL，测试结束时删除注册的用户。
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class AuthCacheConsistencyTest {
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final String username = "cachetest" + UUID.randomUUID().toString().substring(0, 8);
+
+    @AfterEach
+    void deleteUser() {
+        userRepository.findByUsername(username).ifPresent(userRepository::delete);
+    }
+
+    @Test
+    void registeredUserReplacesEarlierMiss() {
+        assertTrue(userRepository.findByUsername(username).isEmpty());
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername(username));
+
+        authService.register(request(username, "secret123"));
+
+        User user = userRepository.findByUsername(username).orElse(null);
+        assertNotNull(user, "natural-id lookup");
+        assertTrue(authService.findUserByUsername(username).isPresent());
+        UserDetails details = userDetailsService.loadUserByUsername(username);
+        assertEquals(user.getId(), ((User) details).getId());
+
+        LoginRequest login = new LoginRequest();
+        login.setUsername(username);
+        login.setPassword("secret123");
+        assertNotNull(authService.login(login));
+    }
+
+    @Test
+    void duplicateRegistrationIsRejected() {
+        authService.register(request(username, "secret123"));
+        // 第二次检查命中缓存中刚注册的用户
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> authService.register(request(username, "other")));
+        assertEquals("用户名已被占用", e.getMessage());
+    }
+
+    private static RegisterRequest request(String username, String password) {
+        RegisterRequest request = new RegisterRequest();
+        request.setUsername(username);
+        request.setPassword(password);
+        return request;
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.news.service;
+
+import com.example.news.dto.BulkResult;
+import com.example.news.dto.NewsPage;
+import com.example.news.dto.NewsVersion;
+import com.example.news.model.News;
+import com.example.news.model.NewsContent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 写入之后，单篇缓存（元数据、版本、正文）、分页缓存和 Hibernate 二级缓存都不能返回旧值或缓存的“不存在”。
+ * 使用 application.properties 中配置的 PostgreSQL，测试结束时删除自己创建的新闻。
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class NewsCacheConsistencyTest {
+
+    private static final Authentication ADMIN = new UsernamePasswordAuthenticationToken("admin", null,
+            List.of(new SimpleGrantedAuthority("ADMIN")));
+
+    @Autowired
+    private NewsService newsService;
+
+    @Autowired
+    private NewsBulkService newsBulkService;
+
+    private final List<Long> created = new ArrayList<>();
+
+    @AfterEach
+    void deleteCreatedNews() {
+        newsBulkService.deleteAll(created, ADMIN);
+    }
+
+    @Test
+    void createdNewsReplacesCachedNotFound() {
+        long nextId = create("first").getId() + 1;
+        assertNotFound(nextId);
+
+        News second = create("second");
+        // 序列按 allocationSize 预分配，同一进程内连续新增的 id 相邻
+        assumeTrue(second.getId() == nextId, "sequence did not hand out the adjacent id");
+        assertCurrent(second.getId(), "second", "body of second");
+    }
+
+    @Test
+    void updateIsVisibleThroughAllCaches() {
+        News news = create("before");
+        assertCurrent(news.getId(), "before", "body of before");
+        long version = newsService.getNewsVersion(news.getId()).orElseThrow().getVersion();
+        assertTrue(newsService.getNewsPage(null, 5).getItems().stream()
+                .anyMatch(item -> item.getId().equals(news.getId())));
+
+        News details = new News();
+        details.setTitle("after " + news.getId());
+        details.setContent("body of after");
+        newsService.updateNews(news.getId(), details, ADMIN);
+
+        assertCurrent(news.getId(), "after " + news.getId(), "body of after");
+        assertTrue(newsService.getNewsVersion(news.getId()).orElseThrow().getVersion() > version);
+        NewsPage page = newsService.getNewsPage(null, 5);
+        assertTrue(page.getItems().stream().anyMatch(item -> ("after " + news.getId()).equals(item.getTitle())));
+    }
+
+    @Test
+    void deleteEvictsCachedNews() {
+        News news = create("deleted");
+        assertCurrent(news.getId(), "deleted", "body of deleted");
+
+        newsService.deleteNews(news.getId(), ADMIN);
+        created.remove(news.getId());
+
+        assertNotFound(news.getId());
+    }
+
+    @Test
+    void bulkWritesAreVisibleThroughAllCaches() {
+        long nextId = create("bulk anchor").getId() + 1;
+        assertNotFound(nextId);
+
+        BulkResult result = newsBulkService.createAll(List.of(article("bulk")), "admin");
+        Long id = result.getItems().get(0).getId();
+        created.add(id);
+        assumeTrue(id == nextId, "sequence did not hand out the adjacent id");
+        assertCurrent(id, "bulk", "body of bulk");
+
+        News details = article("bulk updated");
+        details.setId(id);
+        newsBulkService.updateAll(List.of(details), ADMIN);
+        assertCurrent(id, "bulk updated", "body of bulk updated");
+
+        newsBulkService.deleteAll(List.of(id), ADMIN);
+        created.remove(id);
+        assertNotFound(id);
+    }
+
+    private News create(String title) {
+        News news = newsService.createNews(article(title));
+        created.add(news.getId());
+        return news;
+    }
+
+    private static News article(String title) {
+        News news = new News();
+        news.setTitle(title);
+        news.setContent("body of " + title);
+        news.setAuthor("admin");
+        return news;
+    }
+
+    /**
+     * 读取一次（结果进入缓存）并检查与期望值一致
+     */
+    private void assertCurrent(Long id, String title, String content) {
+        News news = newsService.getNewsById(id).orElse(null);
+        assertNotNull(news, "newsById " + id);
+        assertEquals(title, news.getTitle());
+        NewsVersion version = newsService.getNewsVersion(id).orElse(null);
+        assertNotNull(version, "newsVersions " + id);
+        assertEquals(news.getVersion(), version.getVersion());
+        assertEquals(content, NewsContent.decompress(newsService.getCompressedContent(id)));
+    }
+
+    private void assertNotFound(long id) {
+        assertTrue(newsService.getNewsById(id).isEmpty(), "newsById " + id);
+        assertTrue(newsService.getNewsVersion(id).isEmpty(), "newsVersions " + id);
+        assertNull(newsService.getCompressedContent(id), "newsContent " + id);
+    }
+}
@@ -20,10 +20,17 @@ api.interceptors.request.use(config => {
     return Promise.reject(error);
 });
 
+// 新闻变更推送 (Server-Sent Events)，用 EventSource 订阅
+export const NEWS_STREAM_URL = `${API_URL}/stream`;
+
 export const getAllNews = () => {
     return api.get<News[]>('');
 };
 
+export const getNewsById = (id: number) => {
+    return api.get<News>(`/${id}`);
+};
+
 export const createNews = (newsData: Omit<News, 'id' | 'publishDate'>) => {
     return api.post<News>('', newsData);
 };
@@ -2,7 +2,7 @@
 
 import React, { useState, useEffect } from 'react';
 import axios from 'axios';
-import { getAllNews, createNews, updateNews, deleteNews } from '../api/newsApi'; // Removed .ts extension for cleanness if handled by bundler, but respecting user file structure I can keep it or let resolution handle it. The previous file had .ts, I will keep .ts if it was there to avoid resolution errors, but usually valid TS import shouldn't have .ts? Wait, previous context had .ts. I'll stick to standard import.
+import { getAllNews, getNewsById, createNews, updateNews, deleteNews } from '../api/newsApi'; // Removed .ts extension for cleanness if handled by bundler, but respecting user file structure I can keep it or let resolution handle it. The previous file had .ts, I will keep .ts if it was there to avoid resolution errors, but usually valid TS import shouldn't have .ts? Wait, previous context had .ts. I'll stick to standard import.
 import { News } from '../types/types';
 import './ManageNewsPage.css';
 
@@ -84,16 +84,25 @@ const ManageNewsPage: React.FC = () => {
             let errorMessage = '操作失败，请确认您已登录。';
             if (axios.isAxiosError(error) && error.response?.status === 403) {
                 errorMessage = '权限不足。请检查您的登录状态和权限。';
+            } else if (axios.isAxiosError(error) && error.response?.status === 409) {
+                errorMessage = '这条新闻已被其他人修改，请重新打开后再编辑。';
             }
             setDialog({ isOpen: true, title: '错误', message: errorMessage, isConfirm: false });
             console.error("Save failed:", error);
         }
     };
 
-    const handleEdit = (item: News) => {
-        const { id, publishDate, ...rest } = item;
-        setForm(rest);
-        setEditingId(id);
+    // 列表中没有正文，编辑前先读取完整新闻
+    const handleEdit = async (item: News) => {
+        try {
+            const response = await getNewsById(item.id);
+            const { title, content, author, version } = response.data;
+            setForm({ title, content, author, version });
+            setEditingId(item.id);
+        } catch (error) {
+            setDialog({ isOpen: true, title: '错误', message: '读取新闻失败。', isConfirm: false });
+            console.error("Failed to fetch news:", error);
+        }
     };
 
     const confirmDelete = async (id: number) => {
@@ -1,8 +1,22 @@
 import React, { useState, useEffect } from 'react';
-import { getAllNews } from '../api/newsApi';
-import { News } from '../types/types';
+import { getAllNews, NEWS_STREAM_URL } from '../api/newsApi';
+import { News, NewsEvent } from '../types/types';
 import './NewsListPage.css';
 
+// 把一条变更事件应用到当前列表
+const applyNewsEvent = (list: News[], event: NewsEvent): News[] => {
+    if (event.type === 'DELETED') {
+        return list.filter(item => item.id !== event.id);
+    }
+    const { type, ...fields } = event;
+    const existing = list.find(item => item.id === event.id);
+    const merged = { ...existing, ...fields } as News;
+    if (existing) {
+        return list.map(item => (item.id === event.id ? merged : item));
+    }
+    return type === 'CREATED' ? [merged, ...list] : list;
+};
+
 const NewsListPage: React.FC = () => {
     const [news, setNews] = useState<News[]>([]);
     const [loading, setLoading] = useState(true);
@@ -22,6 +36,16 @@ const NewsListPage: React.FC = () => {
         };
 
         fetchNews();
+
+        // 订阅变更推送，增量更新列表而不是轮询；断线后浏览器会带 Last-Event-ID 自动重连
+        const source = new EventSource(NEWS_STREAM_URL);
+        source.addEventListener('news', (e) => {
+            const event = JSON.parse((e as MessageEvent).data) as NewsEvent;
+            setNews(prev => applyNewsEvent(prev, event));
+        });
+        // 错过的事件已无法补发，重新加载整个列表
+        source.addEventListener('reset', () => fetchNews());
+        return () => source.close();
     }, []);
 
     if (loading) return (
@@ -51,7 +75,7 @@ const NewsListPage: React.FC = () => {
                         <div key={item.id} className="card news-card">
                             <div>
                                 <h3>{item.title}</h3>
-                                <p>{item.content.length > 150 ? item.content.substring(0, 150) + '...' : item.content}</p>
+                                <p>{(item.excerpt ?? '').length > 150 ? (item.excerpt ?? '').substring(0, 150) + '...' : item.excerpt}</p>
                             </div>
                             <div className="news-meta">
                                 <span>作者: {item.author}</span>
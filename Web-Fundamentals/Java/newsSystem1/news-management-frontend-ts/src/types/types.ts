@@ -3,9 +3,22 @@
 export interface News {
   id: number;
   title: string;
-  content: string;
+  content: string; // 列表接口不返回正文（为 null），需要正文时请求 /api/news/{id}
+  excerpt?: string; // 正文摘要，列表展示使用
   author: string;
   publishDate: string; // 后端返回的 ISO 格式日期字符串
+  version?: number; // 版本号，修改时带上用于乐观锁检查
+}
+
+// /api/news/stream 推送的新闻变更事件（不含正文；DELETED 事件只有 id）
+export interface NewsEvent {
+  type: 'CREATED' | 'UPDATED' | 'DELETED';
+  id: number;
+  title?: string;
+  author?: string;
+  publishDate?: string;
+  excerpt?: string;
+  version?: number;
 }
 
 export interface RegisterRequest {